@@ -0,0 +1,172 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a game's transcript off the game thread. Events go into a
+ * preallocated single-producer/single-consumer ring; a background thread
+ * formats them in the console log format and writes them to a file in
+ * large chunks through a FileChannel, optionally gzipped.
+ *
+ * One game thread may emit into a writer. Lines keep the order the events
+ * were emitted in, and close() drains the ring and flushes everything. The
+ * game thread only waits if the ring is full, i.e. the disk cannot keep up.
+ */
+public class AsyncTranscriptWriter implements GameEventSink, AutoCloseable {
+
+    private static final int RING_SIZE = 1 << 14;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final GameEvent[] ring;
+    private final int mask;
+    // Next slot the game thread writes / the writer thread reads
+    private final AtomicLong tail;
+    private final AtomicLong head;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private final FileChannel channel;
+    private final OutputStream gzip;
+    private final ChunkBuffer chunk;
+    private final ConsoleEventSink formatter;
+    private final Thread writer;
+
+    public AsyncTranscriptWriter(Path path, boolean compress) throws IOException {
+        this.ring = new GameEvent[RING_SIZE];
+        this.mask = RING_SIZE - 1;
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.gzip = compress ? new GZIPOutputStream(Channels.newOutputStream(channel), CHUNK_SIZE) : null;
+        this.chunk = new ChunkBuffer();
+        this.formatter = new ConsoleEventSink(new PrintStream(chunk, false));
+        this.writer = new Thread(this::drain, "transcript-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens a writer for path, gzipping if the file name ends in ".gz".
+     */
+    public static AsyncTranscriptWriter open(String path) throws IOException {
+        return new AsyncTranscriptWriter(Path.of(path), path.endsWith(".gz"));
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        if (closed || failure != null) {
+            return;
+        }
+        long slot = tail.get();
+        while (slot - head.get() == RING_SIZE) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+            if (failure != null) {
+                return;
+            }
+        }
+        ring[(int) slot & mask] = event;
+        tail.lazySet(slot + 1);
+    }
+
+    /**
+     * Stops accepting events, waits for the writer to drain the ring, and
+     * flushes and closes the file. Rethrows any write error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            LockSupport.unpark(writer);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                boolean finishing = closed;
+                long available = tail.get();
+                long next = head.get();
+                if (next == available) {
+                    if (finishing) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                for (; next < available; next++) {
+                    int index = (int) next & mask;
+                    formatter.accept(ring[index]);
+                    ring[index] = null;
+                    if (chunk.size() >= CHUNK_SIZE) {
+                        writeChunk();
+                    }
+                }
+                head.lazySet(next);
+            }
+            writeChunk();
+            if (gzip != null) {
+                gzip.close();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        if (chunk.size() == 0) {
+            return;
+        }
+        if (gzip != null) {
+            gzip.write(chunk.bytes(), 0, chunk.size());
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(chunk.bytes(), 0, chunk.size());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        chunk.reset();
+    }
+
+    /**
+     * The formatter's target: a growable byte buffer whose array is written out directly.
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        ChunkBuffer() {
+            super(CHUNK_SIZE + 1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -1,34 +1,46 @@
 package ca.mcmaster.se2aa4.catan;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Arrays;
 
 public class Bank {
 
-    private final Map<ResourceType, Integer> supply;
+    private final int[] supply;
 
     public Bank() {
-        supply = new EnumMap<>(ResourceType.class);
-        for (ResourceType type : ResourceType.values()) {
-            supply.put(type, 19);
-        }
+        supply = new int[ResourceType.values().length];
+        Arrays.fill(supply, 19);
+    }
+
+    /**
+     * Restores the full supply of 19 cards per resource.
+     */
+    public void reset() {
+        Arrays.fill(supply, 19);
+    }
+
+    void copyTo(int[] counts) {
+        System.arraycopy(supply, 0, counts, 0, supply.length);
+    }
+
+    void restore(int[] counts) {
+        System.arraycopy(counts, 0, supply, 0, supply.length);
     }
 
     public boolean hasEnoughResources(ResourceType type, int amount) {
-        return supply.get(type) >= amount;
+        return supply[type.ordinal()] >= amount;
     }
 
     public void distributeResource(ResourceType type, int amount) {
-        int current = supply.get(type);
+        int current = supply[type.ordinal()];
         int toGive = Math.min(amount, current);
-        supply.put(type, current - toGive);
+        supply[type.ordinal()] = current - toGive;
     }
 
     public void collectResource(ResourceType type, int amount) {
-        supply.put(type, supply.get(type) + amount);
+        supply[type.ordinal()] += amount;
     }
 
     public int getRemainingCount(ResourceType type) {
-        return supply.get(type);
+        return supply[type.ordinal()];
     }
 }
@@ -0,0 +1,145 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless batch mode: plays many all-agent games with the per-action log
+ * disabled, then prints an aggregate summary.
+ *
+ * Games run in parallel on a work-stealing pool. Each game owns its board,
+ * players and seeded random streams, and each task records into its own
+ * summary; summaries are merged as tasks join, so the workers share no
+ * locks while games are running.
+ *
+ * Usage:
+ *   mvn exec:java -Dexec.mainClass=ca.mcmaster.se2aa4.catan.BatchSimulator -Dexec.args="batch.txt"
+ *
+ * With crn=true, games are played in pairs (common random numbers): both
+ * games of a pair share a seed and a dice tape, and the second mirrors the
+ * seating, so the pair differs only in which seat each agent plays from.
+ *
+ * Config file format (all keys optional):
+ *   games=10000
+ *   seed=42
+ *   threads=8
+ *   crn=true
+ *   turns=100
+ *   mcts=1              (seat an MctsPlayer; see its playouts/thinkms/searchthreads keys)
+ */
+public class BatchSimulator {
+
+    private final Configuration configuration;
+
+    public BatchSimulator(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    public BatchSummary run() {
+        long seed = configuration.isSeeded() ? configuration.getSeed() : System.nanoTime();
+        int games = configuration.getGames();
+        int threads = configuration.getThreads();
+        if (threads == 1) {
+            return new GameRange(configuration, seed, 0, games, games).compute();
+        }
+        // A few tasks per worker so stealing can even out long and short games
+        int grain = Math.max(1, games / (threads * 8));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new GameRange(configuration, seed, 0, games, grain));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Derives an independent seed for game number index (SplitMix64 finalizer),
+     * so any single game of a batch can be replayed on its own.
+     */
+    static long gameSeed(long seed, int index) {
+        return GameRandom.mix(seed + (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Creates game number index. Under common random numbers, games 2k and
+     * 2k+1 share seed k and a tape recorded from it, the latter mirrored.
+     * Each game re-records its pair's tape from the pair seed, so a pair may
+     * straddle a task split; the price is two full DiceTape.record calls
+     * per pair.
+     */
+    static CatanGame newGame(Configuration configuration, long seed, int index) {
+        if (!configuration.isCommonRandomNumbers()) {
+            return new CatanGame(gameSeed(seed, index), configuration);
+        }
+        long pairSeed = gameSeed(seed, index >>> 1);
+        // One roll per turn: four turns a round
+        DiceTape tape = DiceTape.record(new GameRandom(~pairSeed), configuration.getMaxRounds() * 4);
+        return new CatanGame(pairSeed, configuration, tape.reader(), (index & 1) == 1);
+    }
+
+    /**
+     * Plays games [from, to), splitting in half until a range is at most grain games.
+     */
+    private static final class GameRange extends RecursiveTask<BatchSummary> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Configuration configuration;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        GameRange(Configuration configuration, long seed, int from, int to, int grain) {
+            this.configuration = configuration;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected BatchSummary compute() {
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                GameRange left = new GameRange(configuration, seed, from, mid, grain);
+                left.fork();
+                BatchSummary summary = new GameRange(configuration, seed, mid, to, grain).compute();
+                summary.merge(left.join());
+                return summary;
+            }
+            BatchSummary summary = new BatchSummary();
+            CatanGame game = null;
+            for (int i = from; i < to; i++) {
+                // Paired games each need their own dice tape; otherwise one game is reset and replayed
+                if (game == null || configuration.isCommonRandomNumbers()) {
+                    game = newGame(configuration, seed, i);
+                    game.setEventSink(GameEventSink.NONE);
+                } else {
+                    game.reset(gameSeed(seed, i));
+                }
+                game.play();
+                summary.record(game.getOutcome(), game.getWinner(), game.getCurrentRound());
+                int mctsId = game.getMctsPlayerId();
+                if (mctsId > 0 && game.getPlayer(mctsId) instanceof MctsPlayer mcts) {
+                    summary.recordSearch(mcts.getPlayouts(), mcts.getSearchNanos());
+                }
+            }
+            return summary;
+        }
+    }
+
+    public static void main(String[] args) {
+        Configuration configuration = new Configuration();
+        if (args.length > 0) {
+            configuration.load(args[0]);
+        }
+        if (configuration.isHumanGame()) {
+            System.err.println("Batch mode runs agents only; remove the human key.");
+            return;
+        }
+        long start = System.nanoTime();
+        BatchSummary summary = new BatchSimulator(configuration).run();
+        summary.print(System.out, System.nanoTime() - start);
+    }
+}
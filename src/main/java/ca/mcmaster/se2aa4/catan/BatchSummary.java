@@ -0,0 +1,145 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Aggregate results of a batch of games: wins per seat and the distribution
+ * of game lengths in rounds.
+ */
+public class BatchSummary {
+
+    private static final int SEATS = 4;
+
+    private final int[] wins;
+    private int unfinished;
+    private int stalemates;
+    private int[] rounds;
+    private int games;
+    private long playouts;
+    private long searchNanos;
+
+    public BatchSummary() {
+        this.wins = new int[SEATS];
+        this.unfinished = 0;
+        this.rounds = new int[64];
+        this.games = 0;
+    }
+
+    /**
+     * Records one finished game; winner is null unless the outcome is WIN.
+     */
+    public void record(GameOutcome outcome, Player winner, int roundsPlayed) {
+        if (outcome == GameOutcome.WIN) {
+            wins[winner.getId() - 1]++;
+        } else {
+            unfinished++;
+            if (outcome == GameOutcome.STALEMATE) {
+                stalemates++;
+            }
+        }
+        if (games == rounds.length) {
+            rounds = Arrays.copyOf(rounds, games * 2);
+        }
+        rounds[games++] = roundsPlayed;
+    }
+
+    /**
+     * Adds an MctsPlayer's search effort for one game.
+     */
+    public void recordSearch(long gamePlayouts, long gameSearchNanos) {
+        playouts += gamePlayouts;
+        searchNanos += gameSearchNanos;
+    }
+
+    /**
+     * Adds another summary's games into this one.
+     */
+    public void merge(BatchSummary other) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            wins[seat] += other.wins[seat];
+        }
+        unfinished += other.unfinished;
+        stalemates += other.stalemates;
+        playouts += other.playouts;
+        searchNanos += other.searchNanos;
+        if (games + other.games > rounds.length) {
+            rounds = Arrays.copyOf(rounds, Math.max(games + other.games, rounds.length * 2));
+        }
+        System.arraycopy(other.rounds, 0, rounds, games, other.games);
+        games += other.games;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins(int playerId) {
+        return wins[playerId - 1];
+    }
+
+    /**
+     * Games without a winner, whether stopped by the round limit or a stalemate.
+     */
+    public int getUnfinished() {
+        return unfinished;
+    }
+
+    public int getStalemates() {
+        return stalemates;
+    }
+
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * MCTS playouts per second of search time: the rate one game's search
+     * sustains, however many games ran in parallel.
+     */
+    public double getPlayoutsPerSecond() {
+        return searchNanos == 0 ? 0 : playouts * 1e9 / searchNanos;
+    }
+
+    public double getMeanRounds() {
+        long total = 0;
+        for (int i = 0; i < games; i++) {
+            total += rounds[i];
+        }
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * Nearest-rank percentile of the round counts, p in (0, 100].
+     */
+    public int getRoundsPercentile(double p) {
+        if (games == 0) {
+            return 0;
+        }
+        int[] sorted = Arrays.copyOf(rounds, games);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p / 100.0 * games);
+        return sorted[Math.max(0, Math.min(games, rank) - 1)];
+    }
+
+    public void print(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.println("=== Batch Summary ===");
+        out.println("Games played: " + games);
+        for (int seat = 0; seat < SEATS; seat++) {
+            out.printf("P%d wins: %d (%.1f%%)%n", seat + 1, wins[seat], percent(wins[seat]));
+        }
+        out.printf("No winner: %d (%.1f%%), of which %d stalemated early%n",
+                unfinished, percent(unfinished), stalemates);
+        out.printf("Rounds: mean %.1f, p50 %d, p90 %d, p99 %d%n", getMeanRounds(),
+                getRoundsPercentile(50), getRoundsPercentile(90), getRoundsPercentile(99));
+        if (playouts > 0) {
+            out.printf("MCTS: %d playouts (%.0f playouts/s per game)%n", playouts, getPlayoutsPerSecond());
+        }
+        out.printf("Elapsed: %.2f s (%.0f games/s)%n", seconds, seconds > 0 ? games / seconds : 0.0);
+    }
+
+    private double percent(int count) {
+        return games == 0 ? 0 : 100.0 * count / games;
+    }
+}
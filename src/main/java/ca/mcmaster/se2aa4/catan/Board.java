@@ -1,237 +1,570 @@
 package ca.mcmaster.se2aa4.catan;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
+/**
+ * The hex board: 19 tiles, 54 nodes and 72 edges.
+ * The static layout comes from a shared BoardTopology; each Board owns only
+ * its Node/Edge/Tile objects and the mutable occupancy state.
+ * Alongside the Node/Edge object graph, the board keeps a bitboard view of
+ * occupancy (one bit per node, two words per edge set) so that legal-move
+ * generation is a handful of shifts and ANDs instead of a walk over every
+ * Node and Edge. The bitboards are kept in sync by Node.setBuilding and
+ * Edge.setRoad.
+ */
 public class Board {
 
+    private static final int EDGE_WORDS = BoardTopology.EDGE_WORDS;
+
     private final List<Tile> tiles;
     private final List<Node> nodes;
     private final List<Edge> edges;
 
+    // Shared, read-only map data: edge index and neighbour masks
+    private BoardTopology topology;
+    private short[] edgeIndex;
+    private long[] nodeNeighbourMask;
+    private long[] nodeEdgeMask;
+    private long[] edgeNodeMask;
+
+    // Tiles grouped by number token, and the dice-roll production index
+    private List<List<Tile>> tilesByNumber;
+    private ProductionTable productionTable;
+    private LongestRoadEngine longestRoadEngine;
+
+    // Occupancy: owner seat per node/edge (-1 when empty) plus bitboards
+    private int[] nodeSeat;
+    private int[] edgeSeat;
+    private long occupiedNodes;
+    // Nodes with an occupied neighbour; with occupiedNodes this is the distance rule
+    private long crowdedNodes;
+    private final long[] occupiedEdges;
+    private Seat[] seats;
+    private long scoreChanges;
+
+    // Bumped on every occupancy change; listeners hear what was touched
+    private long epoch;
+    private final List<BoardListener> listeners;
+
     public Board() {
         this.tiles = new ArrayList<>();
         this.nodes = new ArrayList<>();
         this.edges = new ArrayList<>();
+        this.occupiedEdges = new long[EDGE_WORDS];
+        this.seats = new Seat[4];
+        this.listeners = new ArrayList<>();
     }
 
     public void initialize() {
-        createNodes();
-        createTiles();
-        createEdges();
+        initialize(BoardTopology.standard());
     }
 
-    private void createNodes() {
-        for (int i = 0; i < 54; i++) {
-            nodes.add(new Node(i));
+    /**
+     * Builds this game's Node/Edge/Tile objects over a shared topology. The
+     * topology's arrays and masks are reused as-is; only the objects and the
+     * occupancy state belong to this board.
+     */
+    void initialize(BoardTopology topology) {
+        this.topology = topology;
+        this.edgeIndex = topology.edgeIndex;
+        this.nodeNeighbourMask = topology.nodeNeighbourMask;
+        this.nodeEdgeMask = topology.nodeEdgeMask;
+        this.edgeNodeMask = topology.edgeNodeMask;
+        this.nodeSeat = new int[topology.nodeCount];
+        this.edgeSeat = new int[topology.edgeCount];
+        Arrays.fill(nodeSeat, -1);
+        Arrays.fill(edgeSeat, -1);
+
+        for (int n = 0; n < topology.nodeCount; n++) {
+            Node node = new Node(n);
+            node.attachTo(this);
+            nodes.add(node);
+        }
+        for (int t = 0; t < topology.tileCount; t++) {
+            Tile tile = new Tile(t, topology.tileNumber[t], topology.tileResource[t]);
+            for (int i = 0; i < topology.cornerCount(t); i++) {
+                tile.linkNode(nodes.get(topology.corner(t, i)));
+            }
+            tiles.add(tile);
+        }
+        for (int e = 0; e < topology.edgeCount; e++) {
+            Edge edge = new Edge(e, nodes.get(topology.edgeA[e]), nodes.get(topology.edgeB[e]));
+            edge.attachTo(this);
+            edges.add(edge);
+        }
+        for (Node node : nodes) {
+            int n = node.getId();
+            for (int i = 0; i < topology.neighbourCount(n); i++) {
+                node.linkNode(nodes.get(topology.neighbour(n, i)));
+            }
+            for (int i = 0; i < topology.adjacentTileCount(n); i++) {
+                node.linkTile(tiles.get(topology.adjacentTile(n, i)));
+            }
         }
-    }
-
-    private void createTiles() {
-        // Tile data: id, resource, number token
-        // From assignment specification
-        ResourceType W = ResourceType.WOOD;
-        ResourceType B = ResourceType.BRICK;
-        ResourceType H = ResourceType.WHEAT;
-        ResourceType O = ResourceType.ORE;
-        ResourceType S = ResourceType.SHEEP;
 
-        int[][] tileData = {
-            {0, 0, 10}, {1, 2, 11}, {2, 1, 8},  {3, 3, 3},
-            {4, 4, 11}, {5, 4, 5},  {6, 4, 12}, {7, 2, 3},
-            {8, 3, 6},  {9, 0, 4},  {10, 3, 6}, {11, 2, 9},
-            {12, 0, 5}, {13, 1, 9}, {14, 1, 8}, {15, 2, 4},
-            {16, -1, 0}, {17, 0, 2}, {18, 4, 10}
-        };
+        groupTilesByNumber();
+        productionTable = new ProductionTable(this);
+        listeners.add(productionTable);
+        longestRoadEngine = new LongestRoadEngine(edgeNodeMask, nodes.size());
+    }
 
-        ResourceType[] typeMap = {W, B, H, O, S};
+    /**
+     * Returns the shared, read-only topology view: int-indexed adjacency for
+     * allocation-free walks over nodes, edges and tiles.
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
 
-        for (int[] data : tileData) {
-            int id = data[0];
-            int resIndex = data[1];
-            int number = data[2];
+    /**
+     * Returns the edge joining nodes a and b, or null if they are not adjacent
+     * (or either id is off the board). Constant time via the node-pair index.
+     */
+    public Edge getEdge(int a, int b) {
+        int size = nodes.size();
+        if (a < 0 || b < 0 || a >= size || b >= size) {
+            return null;
+        }
+        int e = edgeIndex[a * size + b];
+        return e < 0 ? null : edges.get(e);
+    }
 
-            if (resIndex == -1) {
-                // Desert tile - no resource, no number
-                tiles.add(new Tile(id, 0, null));
-            } else {
-                tiles.add(new Tile(id, number, typeMap[resIndex]));
-            }
-        }
-
-        // Wire up tile-node adjacency based on assignment spec hex layout
-        // Vertices listed clockwise from top for each tile
-        // Tile 0 (center)
-        setTileNodes(0, new int[]{5, 0, 1, 2, 3, 4});
-
-        // Inner ring (tiles 1-6)
-        setTileNodes(1, new int[]{1, 6, 7, 8, 9, 2});
-        setTileNodes(2, new int[]{3, 2, 9, 10, 11, 12});
-        setTileNodes(3, new int[]{15, 4, 3, 12, 13, 14});
-        setTileNodes(4, new int[]{18, 16, 5, 4, 15, 17});
-        setTileNodes(5, new int[]{21, 19, 20, 0, 5, 16});
-        setTileNodes(6, new int[]{20, 22, 23, 6, 1, 0});
-
-        // Outer ring (tiles 7-18)
-        setTileNodes(7, new int[]{7, 24, 25, 26, 27, 8});
-        setTileNodes(8, new int[]{9, 8, 27, 28, 29, 10});
-        setTileNodes(9, new int[]{11, 10, 29, 30, 31, 32});
-        setTileNodes(10, new int[]{13, 12, 11, 32, 33, 34});
-        setTileNodes(11, new int[]{37, 14, 13, 34, 35, 36});
-        setTileNodes(12, new int[]{39, 17, 15, 14, 37, 38});
-        setTileNodes(13, new int[]{42, 40, 18, 17, 39, 41});
-        setTileNodes(14, new int[]{44, 43, 21, 16, 18, 40});
-        setTileNodes(15, new int[]{45, 47, 46, 19, 21, 43});
-        setTileNodes(16, new int[]{46, 48, 49, 22, 20, 19});
-        setTileNodes(17, new int[]{49, 50, 51, 52, 23, 22});
-        setTileNodes(18, new int[]{23, 52, 53, 24, 7, 6});
-
-        // Also set up Node -> Tile back-references
-        for (Tile tile : tiles) {
-            for (Node node : tile.getAdjacentNodes()) {
-                node.addAdjacentTile(tile);
-            }
-        }
-    }
-
-    private void setTileNodes(int tileId, int[] nodeIds) {
-        Tile tile = tiles.get(tileId);
-        for (int nodeId : nodeIds) {
-            Node node = nodes.get(nodeId);
-            tile.addAdjacentNode(node);
-        }
-    }
-
-    private void createEdges() {
-        // Create edges by connecting adjacent nodes on each tile
-        Set<String> created = new HashSet<>();
-
-        for (Tile tile : tiles) {
-            List<Node> tileNodes = tile.getAdjacentNodes();
-            for (int i = 0; i < tileNodes.size(); i++) {
-                Node a = tileNodes.get(i);
-                Node b = tileNodes.get((i + 1) % tileNodes.size());
-
-                String key = Math.min(a.getId(), b.getId()) + "-" + Math.max(a.getId(), b.getId());
-                if (!created.contains(key)) {
-                    Edge edge = new Edge(a, b);
-                    edges.add(edge);
-                    a.addAdjacentNode(b);
-                    b.addAdjacentNode(a);
-                    created.add(key);
+    private void groupTilesByNumber() {
+        List<List<Tile>> grouped = new ArrayList<>();
+        for (int number = 0; number <= 12; number++) {
+            List<Tile> matching = new ArrayList<>();
+            for (Tile tile : tiles) {
+                if (tile.getNumberToken() == number && tile.getResourceType() != null) {
+                    matching.add(tile);
                 }
             }
+            grouped.add(Collections.unmodifiableList(matching));
         }
+        tilesByNumber = grouped;
     }
 
     public List<Tile> getTilesForNumber(int number) {
-        List<Tile> result = new ArrayList<>();
-        for (Tile tile : tiles) {
-            if (tile.getNumberToken() == number && tile.getResourceType() != null) {
-                result.add(tile);
-            }
+        if (number < 0 || number >= tilesByNumber.size()) {
+            return Collections.emptyList();
         }
-        return result;
+        return tilesByNumber.get(number);
     }
 
-    public List<Node> getAvailableSettlementNodes(Player player) {
-        List<Node> available = new ArrayList<>();
-        for (Node node : nodes) {
-            if (!node.isOccupied() && node.satisfiesDistanceRule() && hasConnectedRoad(node, player)) {
-                available.add(node);
+    /**
+     * Returns the packed production entries for a dice roll, excluding the
+     * robber's tile. Each entry names a seat, a resource ordinal and an amount;
+     * see ProductionTable for the decoding helpers and getSeatOwner for the seat.
+     */
+    public int[] getProduction(int diceRoll, Tile robberTile) {
+        return productionTable.entriesFor(diceRoll, robberTile == null ? -1 : robberTile.getId());
+    }
+
+    /**
+     * Returns the seat (player id - 1) owning the building on a node, or -1.
+     */
+    public int getNodeSeat(int node) {
+        return nodeSeat[node];
+    }
+
+    /**
+     * Returns the seat (player id - 1) owning the road on an edge, or -1.
+     */
+    public int getEdgeSeat(int edge) {
+        return edgeSeat[edge];
+    }
+
+    public boolean isCity(int node) {
+        return nodeSeat[node] >= 0 && (seats[nodeSeat[node]].cities & (1L << node)) != 0;
+    }
+
+    /**
+     * Empties the board for a new game, keeping the Node/Edge/Tile graph and
+     * every per-player structure. Listeners are told through boardReset, and
+     * the epoch still moves forward so epoch-stamped caches go stale.
+     */
+    public void reset() {
+        for (long bits = occupiedNodes; bits != 0; bits &= bits - 1) {
+            nodes.get(Long.numberOfTrailingZeros(bits)).clearBuilding();
+        }
+        for (int w = 0; w < EDGE_WORDS; w++) {
+            for (long bits = occupiedEdges[w]; bits != 0; bits &= bits - 1) {
+                edges.get((w << 6) + Long.numberOfTrailingZeros(bits)).clearRoad();
+            }
+        }
+        Arrays.fill(nodeSeat, -1);
+        Arrays.fill(edgeSeat, -1);
+        occupiedNodes = 0;
+        crowdedNodes = 0;
+        Arrays.fill(occupiedEdges, 0L);
+        scoreChanges = 0;
+        epoch++;
+        for (Seat seat : seats) {
+            if (seat != null) {
+                seat.clear();
+                seat.epoch = epoch;
             }
         }
-        return available;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).boardReset();
+        }
     }
 
-    public List<Edge> getAvailableRoadEdges(Player player) {
-        List<Edge> available = new ArrayList<>();
-        for (Edge edge : edges) {
-            if (!edge.isOccupied() && isConnectedToPlayer(edge, player)) {
-                available.add(edge);
-            }
+    /**
+     * Returns a counter that increases with every change to the board's
+     * occupancy. A cache stamped with the epoch is stale once it differs.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the epoch of the last change to one of the player's pieces.
+     */
+    public long getEpoch(Player player) {
+        return seatOf(player).epoch;
+    }
+
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void touch(Seat seat) {
+        if (seat != null) {
+            seat.epoch = epoch;
         }
-        return available;
     }
 
-    public List<Node> getUpgradeableNodes(Player player) {
-        List<Node> upgradeable = new ArrayList<>();
-        for (Node node : nodes) {
-            if (node.isOccupied()
-                    && node.getBuilding().getOwner() == player
-                    && node.getBuilding().getType() == BuildingType.SETTLEMENT) {
-                upgradeable.add(node);
+    /**
+     * Returns the player who most recently placed a piece in the given seat.
+     */
+    public Player getSeatOwner(int seat) {
+        return seat < seats.length && seats[seat] != null ? seats[seat].owner : null;
+    }
+
+    /**
+     * Called by Node.setBuilding (and city upgrades) to bring the bitboards
+     * in line with the node's current building.
+     */
+    void syncNode(Node node) {
+        int n = node.getId();
+        long bit = 1L << n;
+        int previousSeat = nodeSeat[n];
+        Seat previous = null;
+        if (nodeSeat[n] >= 0) {
+            previous = seats[nodeSeat[n]];
+            previous.buildingPoints -= (previous.cities & bit) != 0 ? 2 : 1;
+            previous.settlements &= ~bit;
+            previous.cities &= ~bit;
+            scoreChanges |= 1L << nodeSeat[n];
+            nodeSeat[n] = -1;
+        }
+        occupiedNodes &= ~bit;
+        Building building = node.getBuilding();
+        Seat current = null;
+        if (building != null) {
+            nodeSeat[n] = building.getOwner().getId() - 1;
+            current = seatOf(building.getOwner());
+            current.owner = building.getOwner();
+            if (building.getType() == BuildingType.CITY) {
+                current.cities |= bit;
+            } else {
+                current.settlements |= bit;
+            }
+            current.buildingPoints += building.getVictoryPoints();
+            scoreChanges |= 1L << (building.getOwner().getId() - 1);
+            occupiedNodes |= bit;
+            crowdedNodes |= nodeNeighbourMask[n];
+        } else if (previous != null) {
+            crowdedNodes = 0;
+            for (long bits = occupiedNodes; bits != 0; bits &= bits - 1) {
+                crowdedNodes |= nodeNeighbourMask[Long.numberOfTrailingZeros(bits)];
             }
         }
-        return upgradeable;
+        if (previous != current) {
+            for (Seat seat : seats) {
+                if (seat != null && (seat.roadNodes & bit) != 0) {
+                    seat.longestRoadDirty = true;
+                }
+            }
+        }
+        if (previous == null && current != null) {
+            buildingPlaced(n, current);
+        } else if (previous != current) {
+            // Removed or handed to another player: rare, so rebuild from the masks
+            rebuildDerived();
+        }
+        epoch++;
+        touch(previous);
+        touch(current);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).nodeChanged(n, previousSeat, nodeSeat[n]);
+        }
     }
 
-    public List<Node> getAvailableSetupNodes() {
-        List<Node> available = new ArrayList<>();
-        for (Node node : nodes) {
-            if (!node.isOccupied() && node.satisfiesDistanceRule()) {
-                available.add(node);
+    /**
+     * Called by Edge.setRoad to bring the bitboards in line with the edge's current road.
+     */
+    void syncEdge(Edge edge) {
+        int e = edge.getId();
+        int word = e >>> 6;
+        long bit = 1L << e;
+        int previousSeat = edgeSeat[e];
+        Seat previous = null;
+        if (edgeSeat[e] >= 0) {
+            previous = seats[edgeSeat[e]];
+            previous.roads[word] &= ~bit;
+            edgeSeat[e] = -1;
+        }
+        occupiedEdges[word] &= ~bit;
+        Road road = edge.getRoad();
+        Seat current = null;
+        if (road != null) {
+            edgeSeat[e] = road.getOwner().getId() - 1;
+            current = seatOf(road.getOwner());
+            current.owner = road.getOwner();
+            current.roads[word] |= bit;
+            occupiedEdges[word] |= bit;
+        }
+        if (previous != null) {
+            previous.longestRoadDirty = true;
+        }
+        if (current != null) {
+            current.longestRoadDirty = true;
+        }
+        if (previous == null && current != null) {
+            roadPlaced(e, current);
+        } else if (previous != current) {
+            previous.roadNodes = roadNodes(previous);
+            if (current != null) {
+                current.roadNodes |= edgeNodeMask[e];
             }
+            rebuildDerived();
+        }
+        epoch++;
+        touch(previous);
+        touch(current);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).edgeChanged(e, previousSeat, edgeSeat[e]);
         }
-        return available;
     }
 
-    public int calculateLongestRoad(Player player) {
-        int longest = 0;
-        for (Edge edge : edges) {
-            if (edge.isOccupied() && edge.getRoad().getOwner() == player) {
-                int length = dfsRoadLength(edge, player, new HashSet<>());
-                longest = Math.max(longest, length);
+    /**
+     * A new building only ever takes options away from other players: the node
+     * and its neighbours leave every settlement set, and the node stops
+     * carrying opponents' roads through it. The owner gains its incident edges.
+     */
+    private void buildingPlaced(int n, Seat owner) {
+        long blocked = (1L << n) | nodeNeighbourMask[n];
+        for (Seat seat : seats) {
+            if (seat == null) continue;
+            seat.settlementCandidates &= ~blocked;
+            if (seat == owner) {
+                for (int w = 0; w < EDGE_WORDS; w++) {
+                    seat.roadFrontier[w] |= nodeEdgeMask[n * EDGE_WORDS + w] & ~occupiedEdges[w];
+                }
+            } else {
+                recheckFrontierAround(seat, n);
             }
         }
-        return longest;
     }
 
-    private int dfsRoadLength(Edge current, Player player, Set<Edge> visited) {
-        visited.add(current);
-        int maxLength = 1;
+    /**
+     * Re-evaluates the free edges around node n for a seat that no longer
+     * reaches through n: each stays only if its far endpoint is in the network.
+     */
+    private void recheckFrontierAround(Seat seat, int n) {
+        long network = network(seat);
+        for (int w = 0; w < EDGE_WORDS; w++) {
+            for (long bits = nodeEdgeMask[n * EDGE_WORDS + w] & ~occupiedEdges[w]; bits != 0; bits &= bits - 1) {
+                int f = (w << 6) + Long.numberOfTrailingZeros(bits);
+                long far = edgeNodeMask[f] & ~(1L << n);
+                if ((network & far) == 0) {
+                    seat.roadFrontier[w] &= ~(1L << f);
+                }
+            }
+        }
+    }
 
-        for (Node endpoint : current.getEndpoints()) {
-            // Stop if another player has a building here (breaks the road)
-            if (endpoint.isOccupied() && endpoint.getBuilding().getOwner() != player) {
-                continue;
+    private void roadPlaced(int e, Seat owner) {
+        int word = e >>> 6;
+        long bit = 1L << e;
+        owner.roadNodes |= edgeNodeMask[e];
+        owner.settlementCandidates |= unblocked(edgeNodeMask[e]);
+        for (Seat seat : seats) {
+            if (seat != null) {
+                seat.roadFrontier[word] &= ~bit;
+            }
+        }
+        long reach = edgeNodeMask[e] & network(owner);
+        for (long bits = reach; bits != 0; bits &= bits - 1) {
+            int n = Long.numberOfTrailingZeros(bits);
+            for (int w = 0; w < EDGE_WORDS; w++) {
+                owner.roadFrontier[w] |= nodeEdgeMask[n * EDGE_WORDS + w] & ~occupiedEdges[w];
             }
-            for (Edge adjacent : endpoint.getAdjacentEdges()) {
-                if (!visited.contains(adjacent) && adjacent.isOccupied()
-                        && adjacent.getRoad().getOwner() == player) {
-                    int length = 1 + dfsRoadLength(adjacent, player, visited);
-                    maxLength = Math.max(maxLength, length);
+        }
+    }
+
+    /**
+     * Recomputes every seat's settlement candidates and road frontier from
+     * the occupancy masks. Only needed when a piece is removed or changes hands.
+     */
+    private void rebuildDerived() {
+        long blocked = blockedNodes();
+        for (Seat seat : seats) {
+            if (seat == null) continue;
+            seat.settlementCandidates = seat.roadNodes & ~blocked;
+            Arrays.fill(seat.roadFrontier, 0L);
+            for (long bits = network(seat); bits != 0; bits &= bits - 1) {
+                int n = Long.numberOfTrailingZeros(bits);
+                for (int w = 0; w < EDGE_WORDS; w++) {
+                    seat.roadFrontier[w] |= nodeEdgeMask[n * EDGE_WORDS + w];
                 }
             }
+            for (int w = 0; w < EDGE_WORDS; w++) {
+                seat.roadFrontier[w] &= ~occupiedEdges[w];
+            }
         }
+    }
 
-        visited.remove(current);
-        return maxLength;
+    /**
+     * Returns a read-only view of the nodes where the player may build a
+     * settlement. The set is maintained incrementally as pieces are placed;
+     * the view is only rebuilt when the underlying set has changed.
+     */
+    public List<Node> getAvailableSettlementNodes(Player player) {
+        Seat seat = seatOf(player);
+        if (seat.candidateView == null || seat.candidateViewMask != seat.settlementCandidates) {
+            seat.candidateView = Collections.unmodifiableList(nodesIn(seat.settlementCandidates));
+            seat.candidateViewMask = seat.settlementCandidates;
+        }
+        return seat.candidateView;
     }
 
-    private boolean hasConnectedRoad(Node node, Player player) {
-        for (Edge edge : node.getAdjacentEdges()) {
-            if (edge.isOccupied() && edge.getRoad().getOwner() == player) {
-                return true;
-            }
+    /**
+     * Returns a read-only view of the free edges touching the player's network.
+     * A road passes through a node unless an opponent has built there, so an
+     * opponent settlement cuts the network at that node.
+     */
+    public List<Edge> getAvailableRoadEdges(Player player) {
+        Seat seat = seatOf(player);
+        if (seat.frontierView == null || !Arrays.equals(seat.frontierViewMask, seat.roadFrontier)) {
+            seat.frontierView = Collections.unmodifiableList(edgesIn(seat.roadFrontier));
+            System.arraycopy(seat.roadFrontier, 0, seat.frontierViewMask, 0, EDGE_WORDS);
         }
-        return false;
+        return seat.frontierView;
     }
 
-    private boolean isConnectedToPlayer(Edge edge, Player player) {
-        for (Node endpoint : edge.getEndpoints()) {
-            if (endpoint.isOccupied() && endpoint.getBuilding().getOwner() == player) {
-                return true;
-            }
-            for (Edge adj : endpoint.getAdjacentEdges()) {
-                if (adj.isOccupied() && adj.getRoad().getOwner() == player) {
-                    return true;
+    public List<Node> getUpgradeableNodes(Player player) {
+        return nodesIn(seatOf(player).settlements);
+    }
+
+    // Raw masks behind the three lists above, for MoveGenerator
+    long getUpgradeableMask(Player player) {
+        return seatOf(player).settlements;
+    }
+
+    long getSettlementCandidateMask(Player player) {
+        return seatOf(player).settlementCandidates;
+    }
+
+    void copyRoadFrontier(Player player, long[] into) {
+        System.arraycopy(seatOf(player).roadFrontier, 0, into, 0, EDGE_WORDS);
+    }
+
+    public List<Node> getAvailableSetupNodes() {
+        return nodesIn(allNodes() & ~blockedNodes());
+    }
+
+    /**
+     * Point checks matching the lists above, without building them:
+     * each is a single bit test against the player's maintained masks.
+     */
+    public boolean canPlaceSettlement(Player player, int nodeId) {
+        return nodeId >= 0 && nodeId < nodes.size()
+                && (seatOf(player).settlementCandidates & (1L << nodeId)) != 0;
+    }
+
+    public boolean canPlaceRoad(Player player, int edgeId) {
+        return edgeId >= 0 && edgeId < edges.size()
+                && (seatOf(player).roadFrontier[edgeId >>> 6] & (1L << edgeId)) != 0;
+    }
+
+    public boolean canUpgrade(Player player, int nodeId) {
+        return nodeId >= 0 && nodeId < nodes.size()
+                && (seatOf(player).settlements & (1L << nodeId)) != 0;
+    }
+
+    public int countSettlements(Player player) {
+        return Long.bitCount(seatOf(player).settlements);
+    }
+
+    /**
+     * Upper bound on the settlement spots the player could still claim with
+     * at most roadBudget more roads: nodes passing the distance rule within
+     * roadBudget free edges of the player's network, never passing through an
+     * opponent's building. Spots may block each other, so this can over-count,
+     * but it never under-counts.
+     */
+    public int countReachableSettlementSpots(Player player, int roadBudget) {
+        Seat seat = seatOf(player);
+        long opponents = occupiedNodes & ~(seat.settlements | seat.cities);
+        long reach = network(seat);
+        for (int step = 0; step < roadBudget; step++) {
+            long next = reach;
+            for (long bits = reach & ~opponents; bits != 0; bits &= bits - 1) {
+                int n = Long.numberOfTrailingZeros(bits);
+                for (int w = 0; w < EDGE_WORDS; w++) {
+                    for (long free = nodeEdgeMask[n * EDGE_WORDS + w] & ~occupiedEdges[w]; free != 0; free &= free - 1) {
+                        next |= edgeNodeMask[(w << 6) + Long.numberOfTrailingZeros(free)];
+                    }
                 }
             }
+            if (next == reach) {
+                break;
+            }
+            reach = next;
+        }
+        return Long.bitCount(reach & ~blockedNodes());
+    }
+
+    /**
+     * Returns the player's longest road. The result is cached per player and
+     * only recomputed after the player's roads, or a building on one of the
+     * player's road ends, have changed.
+     */
+    public int calculateLongestRoad(Player player) {
+        Seat seat = seatOf(player);
+        if (seat.longestRoadDirty) {
+            long own = seat.settlements | seat.cities;
+            seat.longestRoad = longestRoadEngine.compute(seat.roads, occupiedNodes & ~own);
+            seat.longestRoadDirty = false;
         }
-        return false;
+        return seat.longestRoad;
+    }
+
+    /**
+     * Victory points from the player's settlements and cities, kept as a
+     * running total as buildings are placed, upgraded or removed.
+     */
+    public int getBuildingPoints(Player player) {
+        return seatOf(player).buildingPoints;
+    }
+
+    /**
+     * Returns a mask of the seats (player id - 1) whose building points changed
+     * since the last call, and clears it.
+     */
+    public long takeScoreChanges() {
+        long changed = scoreChanges;
+        scoreChanges = 0;
+        return changed;
     }
 
     public List<Tile> getTiles() {
@@ -245,4 +578,123 @@ public class Board {
     public List<Edge> getEdges() {
         return edges;
     }
+
+    /**
+     * True if no neighbour of the node is occupied. A single bit test against
+     * the mask kept up to date as buildings are placed.
+     */
+    public boolean satisfiesDistanceRule(int node) {
+        return (crowdedNodes & (1L << node)) == 0;
+    }
+
+    /**
+     * Nodes where no settlement may go: every occupied node and its neighbours.
+     */
+    private long blockedNodes() {
+        return occupiedNodes | crowdedNodes;
+    }
+
+    /**
+     * The subset of mask whose nodes pass the distance rule.
+     */
+    private long unblocked(long mask) {
+        return mask & ~blockedNodes();
+    }
+
+    /**
+     * Nodes the seat can build a road from: its own buildings, plus the ends
+     * of its roads that no opponent has built on.
+     */
+    private long network(Seat seat) {
+        long own = seat.settlements | seat.cities;
+        return own | (seat.roadNodes & ~(occupiedNodes & ~own));
+    }
+
+    /**
+     * Nodes touched by at least one of the seat's roads.
+     */
+    private long roadNodes(Seat seat) {
+        long touched = 0;
+        for (int w = 0; w < EDGE_WORDS; w++) {
+            for (long bits = seat.roads[w]; bits != 0; bits &= bits - 1) {
+                touched |= edgeNodeMask[(w << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return touched;
+    }
+
+    private long allNodes() {
+        return (1L << nodes.size()) - 1;
+    }
+
+    private List<Node> nodesIn(long mask) {
+        List<Node> result = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            result.add(nodes.get(Long.numberOfTrailingZeros(bits)));
+        }
+        return result;
+    }
+
+    private List<Edge> edgesIn(long[] mask) {
+        List<Edge> result = new ArrayList<>();
+        for (int w = 0; w < EDGE_WORDS; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                result.add(edges.get((w << 6) + Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the occupancy bitboards for a player, keyed by player id so a
+     * replacement player object (e.g. a HumanPlayer) shares its seat.
+     */
+    private Seat seatOf(Player player) {
+        int index = player.getId() - 1;
+        if (index >= seats.length) {
+            seats = Arrays.copyOf(seats, Math.max(index + 1, seats.length * 2));
+        }
+        if (seats[index] == null) {
+            seats[index] = new Seat();
+        }
+        return seats[index];
+    }
+
+    /**
+     * Per-player occupancy: one bit per node for settlements and cities,
+     * EDGE_WORDS words for roads, plus the incrementally maintained
+     * settlement candidates and road frontier derived from them.
+     */
+    private static final class Seat {
+        private Player owner;
+        private long settlements;
+        private long cities;
+        private final long[] roads = new long[EDGE_WORDS];
+        // Derived: nodes touched by a road, legal settlement spots and road frontier
+        private long roadNodes;
+        private long settlementCandidates;
+        private final long[] roadFrontier = new long[EDGE_WORDS];
+        private List<Node> candidateView;
+        private long candidateViewMask;
+        private List<Edge> frontierView;
+        private final long[] frontierViewMask = new long[EDGE_WORDS];
+        private int buildingPoints;
+        private long epoch;
+        private int longestRoad;
+        private boolean longestRoadDirty = true;
+
+        void clear() {
+            settlements = 0;
+            cities = 0;
+            Arrays.fill(roads, 0L);
+            roadNodes = 0;
+            settlementCandidates = 0;
+            Arrays.fill(roadFrontier, 0L);
+            candidateView = null;
+            frontierView = null;
+            buildingPoints = 0;
+            longestRoad = 0;
+            longestRoadDirty = true;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Receives every change to a board's occupancy, after the board's own
+ * bitboards have been updated. Seats are player id - 1, or -1 for empty.
+ * Used by derived caches to invalidate exactly what a change touched.
+ */
+public interface BoardListener {
+
+    /**
+     * A building was placed, upgraded, removed or changed hands on a node.
+     */
+    default void nodeChanged(int node, int previousSeat, int seat) {
+    }
+
+    /**
+     * A road was placed, removed or changed hands on an edge.
+     */
+    default void edgeChanged(int edge, int previousSeat, int seat) {
+    }
+
+    /**
+     * Every piece was removed at once by Board.reset.
+     */
+    default void boardReset() {
+    }
+}
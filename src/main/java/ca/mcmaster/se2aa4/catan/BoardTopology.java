@@ -0,0 +1,267 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+
+/**
+ * The static shape of a board map: which nodes ring each tile, which nodes
+ * each edge joins, number tokens, resources and the derived neighbour masks.
+ * Built once per map and shared read-only by every Board in the JVM; a Board
+ * only adds its own Node/Edge/Tile objects and mutable occupancy on top.
+ *
+ * Adjacency is stored struct-of-arrays in compressed (CSR) form: the entries
+ * for item i sit in list[offset[i] .. offset[i + 1]). The accessors are plain
+ * array reads, so hot paths can walk the graph without allocating or chasing
+ * object pointers. All arrays are treated as immutable after construction.
+ */
+public final class BoardTopology {
+
+    static final int EDGE_WORDS = 2;
+
+    private static final BoardTopology STANDARD = createStandard();
+
+    final int nodeCount;
+    final int edgeCount;
+    final int tileCount;
+
+    final int[] tileNumber;
+    final ResourceType[] tileResource;
+
+    // CSR adjacency in wiring order (matches the order Node's lists are filled in)
+    final int[] tileNodeOffset;
+    final int[] tileNodeList;
+    final int[] nodeNodeOffset;
+    final int[] nodeNodeList;
+    final int[] nodeEdgeOffset;
+    final int[] nodeEdgeList;
+    final int[] nodeTileOffset;
+    final int[] nodeTileList;
+    final int[] edgeA;
+    final int[] edgeB;
+
+    // Node-pair -> edge id (row-major, -1 when the nodes are not adjacent)
+    final short[] edgeIndex;
+
+    // Bit masks: neighbours per node, incident edges per node (EDGE_WORDS each), endpoints per edge
+    final long[] nodeNeighbourMask;
+    final long[] nodeEdgeMask;
+    final long[] edgeNodeMask;
+
+    /**
+     * Returns the shared topology of the assignment's fixed board layout.
+     */
+    static BoardTopology standard() {
+        return STANDARD;
+    }
+
+    private BoardTopology(int nodeCount, int[] tileNumber, ResourceType[] tileResource, int[][] tileNodes) {
+        this.nodeCount = nodeCount;
+        this.tileCount = tileNodes.length;
+        this.tileNumber = tileNumber;
+        this.tileResource = tileResource;
+        this.tileNodeOffset = new int[tileCount + 1];
+        this.tileNodeList = compress(tileNodes, tileNodeOffset);
+
+        // Edges join consecutive corners of each tile; shared sides are created once
+        edgeIndex = new short[nodeCount * nodeCount];
+        Arrays.fill(edgeIndex, (short) -1);
+        int[] a = new int[nodeCount * 3];
+        int[] b = new int[nodeCount * 3];
+        int[][] neighbours = new int[nodeCount][3];
+        int[][] incident = new int[nodeCount][3];
+        int[] neighbourCount = new int[nodeCount];
+        int[] incidentCount = new int[nodeCount];
+        int edges = 0;
+        for (int[] ring : tileNodes) {
+            for (int i = 0; i < ring.length; i++) {
+                int from = ring[i];
+                int to = ring[(i + 1) % ring.length];
+                if (edgeIndex[from * nodeCount + to] >= 0) continue;
+                edgeIndex[from * nodeCount + to] = (short) edges;
+                edgeIndex[to * nodeCount + from] = (short) edges;
+                a[edges] = from;
+                b[edges] = to;
+                incident[from][incidentCount[from]++] = edges;
+                incident[to][incidentCount[to]++] = edges;
+                neighbours[from][neighbourCount[from]++] = to;
+                neighbours[to][neighbourCount[to]++] = from;
+                edges++;
+            }
+        }
+        this.edgeCount = edges;
+        this.edgeA = Arrays.copyOf(a, edges);
+        this.edgeB = Arrays.copyOf(b, edges);
+
+        nodeNodeOffset = new int[nodeCount + 1];
+        nodeEdgeOffset = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            neighbours[n] = Arrays.copyOf(neighbours[n], neighbourCount[n]);
+            incident[n] = Arrays.copyOf(incident[n], incidentCount[n]);
+        }
+        nodeNodeList = compress(neighbours, nodeNodeOffset);
+        nodeEdgeList = compress(incident, nodeEdgeOffset);
+
+        int[][] tilesOfNode = new int[nodeCount][3];
+        int[] tileCountOfNode = new int[nodeCount];
+        for (int t = 0; t < tileCount; t++) {
+            for (int n : tileNodes[t]) {
+                tilesOfNode[n][tileCountOfNode[n]++] = t;
+            }
+        }
+        nodeTileOffset = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            tilesOfNode[n] = Arrays.copyOf(tilesOfNode[n], tileCountOfNode[n]);
+        }
+        nodeTileList = compress(tilesOfNode, nodeTileOffset);
+
+        nodeNeighbourMask = new long[nodeCount];
+        nodeEdgeMask = new long[nodeCount * EDGE_WORDS];
+        edgeNodeMask = new long[edgeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            for (int i = nodeNodeOffset[n]; i < nodeNodeOffset[n + 1]; i++) {
+                nodeNeighbourMask[n] |= 1L << nodeNodeList[i];
+            }
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            edgeNodeMask[e] = (1L << edgeA[e]) | (1L << edgeB[e]);
+            nodeEdgeMask[edgeA[e] * EDGE_WORDS + (e >>> 6)] |= 1L << e;
+            nodeEdgeMask[edgeB[e] * EDGE_WORDS + (e >>> 6)] |= 1L << e;
+        }
+    }
+
+    /**
+     * Flattens rows into one list, writing each row's start into offset.
+     */
+    private static int[] compress(int[][] rows, int[] offset) {
+        int total = 0;
+        for (int i = 0; i < rows.length; i++) {
+            offset[i] = total;
+            total += rows[i].length;
+        }
+        offset[rows.length] = total;
+        int[] list = new int[total];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, list, offset[i], rows[i].length);
+        }
+        return list;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    public int neighbourCount(int node) {
+        return nodeNodeOffset[node + 1] - nodeNodeOffset[node];
+    }
+
+    public int neighbour(int node, int i) {
+        return nodeNodeList[nodeNodeOffset[node] + i];
+    }
+
+    public int incidentEdgeCount(int node) {
+        return nodeEdgeOffset[node + 1] - nodeEdgeOffset[node];
+    }
+
+    public int incidentEdge(int node, int i) {
+        return nodeEdgeList[nodeEdgeOffset[node] + i];
+    }
+
+    public int adjacentTileCount(int node) {
+        return nodeTileOffset[node + 1] - nodeTileOffset[node];
+    }
+
+    public int adjacentTile(int node, int i) {
+        return nodeTileList[nodeTileOffset[node] + i];
+    }
+
+    public int cornerCount(int tile) {
+        return tileNodeOffset[tile + 1] - tileNodeOffset[tile];
+    }
+
+    public int corner(int tile, int i) {
+        return tileNodeList[tileNodeOffset[tile] + i];
+    }
+
+    public int endpointA(int edge) {
+        return edgeA[edge];
+    }
+
+    public int endpointB(int edge) {
+        return edgeB[edge];
+    }
+
+    public int numberToken(int tile) {
+        return tileNumber[tile];
+    }
+
+    /**
+     * Returns the tile's resource, or null for the desert.
+     */
+    public ResourceType resource(int tile) {
+        return tileResource[tile];
+    }
+
+    private static BoardTopology createStandard() {
+        // Tile data: id, resource, number token
+        // From assignment specification
+        ResourceType W = ResourceType.WOOD;
+        ResourceType B = ResourceType.BRICK;
+        ResourceType H = ResourceType.WHEAT;
+        ResourceType O = ResourceType.ORE;
+        ResourceType S = ResourceType.SHEEP;
+
+        int[][] tileData = {
+            {0, 0, 10}, {1, 2, 11}, {2, 1, 8},  {3, 3, 3},
+            {4, 4, 11}, {5, 4, 5},  {6, 4, 12}, {7, 2, 3},
+            {8, 3, 6},  {9, 0, 4},  {10, 3, 6}, {11, 2, 9},
+            {12, 0, 5}, {13, 1, 9}, {14, 1, 8}, {15, 2, 4},
+            {16, -1, 0}, {17, 0, 2}, {18, 4, 10}
+        };
+
+        ResourceType[] typeMap = {W, B, H, O, S};
+
+        int[] numbers = new int[tileData.length];
+        ResourceType[] resources = new ResourceType[tileData.length];
+        for (int[] data : tileData) {
+            // Desert tile (-1) has no resource and no number
+            numbers[data[0]] = data[1] == -1 ? 0 : data[2];
+            resources[data[0]] = data[1] == -1 ? null : typeMap[data[1]];
+        }
+
+        // Tile-node adjacency based on assignment spec hex layout
+        // Vertices listed clockwise from top for each tile
+        int[][] tileNodes = {
+            // Tile 0 (center)
+            {5, 0, 1, 2, 3, 4},
+            // Inner ring (tiles 1-6)
+            {1, 6, 7, 8, 9, 2},
+            {3, 2, 9, 10, 11, 12},
+            {15, 4, 3, 12, 13, 14},
+            {18, 16, 5, 4, 15, 17},
+            {21, 19, 20, 0, 5, 16},
+            {20, 22, 23, 6, 1, 0},
+            // Outer ring (tiles 7-18)
+            {7, 24, 25, 26, 27, 8},
+            {9, 8, 27, 28, 29, 10},
+            {11, 10, 29, 30, 31, 32},
+            {13, 12, 11, 32, 33, 34},
+            {37, 14, 13, 34, 35, 36},
+            {39, 17, 15, 14, 37, 38},
+            {42, 40, 18, 17, 39, 41},
+            {44, 43, 21, 16, 18, 40},
+            {45, 47, 46, 19, 21, 43},
+            {46, 48, 49, 22, 20, 19},
+            {49, 50, 51, 52, 23, 22},
+            {23, 52, 53, 24, 7, 6}
+        };
+
+        return new BoardTopology(54, numbers, resources, tileNodes);
+    }
+}
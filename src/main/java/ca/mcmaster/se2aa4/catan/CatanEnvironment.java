@@ -0,0 +1,130 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+
+/**
+ * Step-by-step access to a game for an external controller (e.g. a learning
+ * agent). The controller plays player 1; players 2-4 are the usual random
+ * agents. Player 1's setup placements are made by its agent as well.
+ *
+ * Each decision is one build move or Move.END_TURN. Turns where nothing is
+ * affordable are passed automatically, so legalMoves always offers at least
+ * one build unless the game is done; a game can even be done right after
+ * reset. The controller is not held to the agents' forced spending above
+ * 7 cards.
+ *
+ * The reward is 0 until the game ends, then 1 if player 1 won, -1 if
+ * another player won and 0 on the round limit or a stalemate.
+ */
+public class CatanEnvironment {
+
+    /**
+     * The outcome of one step.
+     */
+    public record Step(float reward, boolean done) {
+    }
+
+    private static final Step CONTINUE = new Step(0f, false);
+
+    private final CatanGame game;
+    private final Player self;
+    private final MoveGenerator moves = new MoveGenerator();
+    private boolean done = true;
+
+    public CatanEnvironment(Configuration configuration) {
+        this.game = new CatanGame(0, configuration);
+        this.game.setEventSink(GameEventSink.NONE);
+        this.game.getBoard().initialize();
+        this.self = game.getPlayer(1);
+    }
+
+    /**
+     * Starts a new game from seed and plays up to player 1's first decision.
+     */
+    public void reset(long seed) {
+        game.reset(seed);
+        game.start();
+        done = !game.advanceTo(self);
+        skipForcedPasses();
+    }
+
+    /**
+     * Writes the legal moves into buffer (END_TURN first) and returns how
+     * many there are; 0 once the game is done. buffer must hold maxMoves().
+     */
+    public int legalMoves(int[] buffer) {
+        if (done) {
+            return 0;
+        }
+        int count = moves.size();
+        buffer[0] = Move.END_TURN;
+        for (int i = 0; i < count; i++) {
+            buffer[i + 1] = moves.get(i);
+        }
+        return count + 1;
+    }
+
+    public int[] legalMoves() {
+        int[] buffer = new int[maxMoves()];
+        return Arrays.copyOf(buffer, legalMoves(buffer));
+    }
+
+    /**
+     * Upper bound on the number of legal moves in any position.
+     */
+    public int maxMoves() {
+        return 1 + 2 * game.getBoard().getNodes().size() + game.getBoard().getEdges().size();
+    }
+
+    /**
+     * Plays move for player 1. A build keeps the turn going; END_TURN runs
+     * the other players until player 1 next has a choice or the game ends.
+     */
+    public Step step(int move) {
+        if (done) {
+            throw new IllegalStateException("Game is over; call reset first");
+        }
+        if (move == Move.END_TURN) {
+            passTurn();
+        } else if (isLegal(move)) {
+            game.applyMove(self, move);
+            moves.refresh(self, game.getBoard());
+        } else {
+            throw new IllegalArgumentException("Illegal move " + Move.toString(move));
+        }
+        skipForcedPasses();
+        if (!done) {
+            return CONTINUE;
+        }
+        Player winner = game.getWinner();
+        return new Step(winner == null ? 0f : winner == self ? 1f : -1f, true);
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public CatanGame getGame() {
+        return game;
+    }
+
+    private boolean isLegal(int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void passTurn() {
+        game.endTurn();
+        done = !game.advanceTo(self);
+    }
+
+    private void skipForcedPasses() {
+        while (!done && moves.refresh(self, game.getBoard()) == 0) {
+            passTurn();
+        }
+    }
+}
@@ -1,38 +1,90 @@
 package ca.mcmaster.se2aa4.catan;
 
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class CatanGame {
 
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+
     private int currentRound;
     private int longestRoadLength;
     private Player longestRoadHolder;
+    private long pendingScoreChanges;
     private int diceRollThisTurn;
     private TurnPhase currentTurnPhase;
     private Player currentPlayer;
+    // Seat whose turn is next when the game is driven turn by turn (advanceTo)
+    private int turnSeat;
 
     private final Board board;
     private final List<Player> players;
     private final Dice dice;
     private final Bank bank;
     private final Configuration configuration;
-    private final Random random;
+    // Setup placements draw from their own stream; robber and dice have theirs
+    private final GameRandom random;
+    private final GameRandom root;
+    private final GameRandom[] streams;
+    private final boolean mirrorSeats;
     private final Robber robber;
     private final RobberHandler robberHandler;
     private String stateFilePath;
+    private GameEventSink events;
+    private Player winner;
+    private GameOutcome outcome;
+    private long stalemateCheckedEpoch = -1;
+    private boolean stalemate;
 
     public CatanGame() {
+        this(GameRandom.unseeded(), new Configuration());
+    }
+
+    /**
+     * Creates a reproducible game: the dice, setup/robber choices and each
+     * agent draw from their own stream, all derived from the seed.
+     */
+    public CatanGame(long seed) {
+        this(new GameRandom(seed), new Configuration());
+    }
+
+    public CatanGame(long seed, Configuration configuration) {
+        this(new GameRandom(seed), configuration, null, false);
+    }
+
+    /**
+     * Creates a reproducible game that takes its rolls from diceSource (for
+     * example a shared DiceTape). With mirrorSeats, seat i is played by the
+     * agent stream seat 5-i would otherwise get, so two games with the same
+     * seed and tape differ only in where each agent sits.
+     */
+    public CatanGame(long seed, Configuration configuration, DiceSource diceSource, boolean mirrorSeats) {
+        this(new GameRandom(seed), configuration, diceSource, mirrorSeats);
+    }
+
+    private CatanGame(GameRandom root, Configuration configuration) {
+        this(root, configuration, null, false);
+    }
+
+    private CatanGame(GameRandom root, Configuration configuration, DiceSource diceSource, boolean mirrorSeats) {
         this.board = new Board();
         this.players = new ArrayList<>();
-        this.dice = new Dice();
+        // Split order: dice, setup, robber, then one per agent seat
+        this.root = root;
+        this.streams = new GameRandom[3 + 4];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = root.split();
+        }
+        // The dice stream is split even when a source replaces it, so the others keep their seeds
+        this.dice = diceSource != null ? new Dice(diceSource) : new Dice(streams[0]);
         this.bank = new Bank();
-        this.configuration = new Configuration();
-        this.random = new Random();
+        this.configuration = configuration;
+        this.random = streams[1];
+        this.events = new ConsoleEventSink(System.out);
         this.robber = new Robber();
-        this.robberHandler = new RobberHandler(board, players, robber, bank, random);
+        this.robberHandler = new RobberHandler(board, players, robber, bank, streams[2]);
         this.stateFilePath = null;
         this.currentRound = 0;
         this.longestRoadLength = 4;
@@ -40,35 +92,195 @@ public class CatanGame {
         this.diceRollThisTurn = 0;
         this.currentTurnPhase = TurnPhase.AWAIT_ROLL;
 
+        this.mirrorSeats = mirrorSeats;
         for (int i = 1; i <= 4; i++) {
-            players.add(new AgentPlayer(i));
+            players.add(new AgentPlayer(i, agentStream(i)));
         }
     }
 
+    /**
+     * Returns this game to the state new CatanGame(seed) would start in,
+     * reusing the board, players, bank and pooled pieces instead of
+     * allocating new ones. The event sink, configuration and any dice
+     * source passed at construction are kept.
+     */
+    public void reset(long seed) {
+        reseed(seed);
+        board.reset();
+        bank.reset();
+        robber.placeOn(null);
+        for (Player player : players) {
+            player.reset();
+        }
+        this.currentRound = 0;
+        this.longestRoadLength = 4;
+        this.longestRoadHolder = null;
+        this.pendingScoreChanges = 0;
+        this.diceRollThisTurn = 0;
+        this.currentTurnPhase = TurnPhase.AWAIT_ROLL;
+        this.currentPlayer = null;
+        this.turnSeat = 0;
+        this.winner = null;
+        this.outcome = null;
+        this.stalemateCheckedEpoch = -1;
+    }
+
     public void setStateFilePath(String path) {
         this.stateFilePath = path;
     }
 
+    /**
+     * Sends the game's events to sink (a console log on System.out by default).
+     */
+    public void setEventSink(GameEventSink sink) {
+        this.events = sink;
+        robberHandler.setEventSink(sink);
+    }
+
+    public GameEventSink getEventSink() {
+        return events;
+    }
+
+    /**
+     * Re-derives every random stream from seed, leaving the rest of the game
+     * as it is. MctsPlayer uses this to vary playouts from one snapshot.
+     */
+    void reseed(long seed) {
+        root.setState(seed);
+        for (GameRandom stream : streams) {
+            root.splitInto(stream);
+        }
+    }
+
+    /**
+     * The id MctsPlayer plays under in this game, or 0 if none is configured.
+     * A mirrored game seats it opposite the configured seat, as it does the
+     * agents, so a common-random-numbers pair also swaps MCTS's seat.
+     */
+    public int getMctsPlayerId() {
+        int id = configuration.getMctsPlayerId();
+        return id > 0 && mirrorSeats ? 5 - id : id;
+    }
+
+    /**
+     * The random stream for the player seated with the given id.
+     */
+    private GameRandom agentStream(int id) {
+        return streams[3 + (mirrorSeats ? 4 - id : id - 1)];
+    }
+
+    /**
+     * Prints the game's action log to out instead of System.out.
+     */
+    public void setOutput(PrintStream out) {
+        setEventSink(new ConsoleEventSink(out));
+    }
+
     public void play() {
         if (configuration.isHumanGame()) {
             int id = configuration.getHumanPlayerId();
             players.set(id - 1, new HumanPlayer(id, new ConsoleInputReader(), new CommandParser()));
         }
-        board.initialize();
-        setupPhase();
-        placeRobberOnDesert();
-        writeState();
+        int mctsId = getMctsPlayerId();
+        if (mctsId > 0 && !(players.get(mctsId - 1) instanceof MctsPlayer)) {
+            players.set(mctsId - 1, new MctsPlayer(mctsId, agentStream(mctsId), configuration));
+        }
+        start();
 
+        outcome = null;
         while (currentRound < configuration.getMaxRounds()) {
             currentRound++;
             if (executeRound()) {
+                outcome = GameOutcome.WIN;
+                break;
+            }
+            if (isStalemate()) {
+                outcome = GameOutcome.STALEMATE;
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.Stalemate(currentRound));
+                }
                 break;
             }
         }
+        if (outcome == null) {
+            outcome = GameOutcome.ROUND_LIMIT;
+        }
 
         printRoundSummary();
     }
 
+    /**
+     * Lays out the board (first game only), runs the setup phase and places
+     * the robber. play() continues from here on its own; a controller can
+     * instead drive the game one turn at a time with advanceTo and endTurn.
+     */
+    public void start() {
+        if (board.getNodes().isEmpty()) {
+            board.initialize();
+        }
+        setupPhase();
+        placeRobberOnDesert();
+        writeState();
+    }
+
+    /**
+     * Plays the other players' turns until it is decider's turn, then rolls
+     * and produces for decider and returns true; decider's builds are left
+     * to the caller, who finishes the turn with endTurn. Returns false once
+     * the game is over (see getOutcome).
+     */
+    public boolean advanceTo(Player decider) {
+        while (outcome == null) {
+            if (turnSeat == 0) {
+                if (currentRound >= configuration.getMaxRounds()) {
+                    outcome = GameOutcome.ROUND_LIMIT;
+                    break;
+                }
+                currentRound++;
+            }
+            Player player = players.get(turnSeat);
+            diceRollThisTurn = 0;
+            currentPlayer = player;
+            if (player == decider) {
+                currentTurnPhase = TurnPhase.AWAIT_ROLL;
+                rollAndProduce(player);
+                return true;
+            }
+            executeTurn(player);
+            closeTurn();
+        }
+        return false;
+    }
+
+    /**
+     * Ends the turn advanceTo handed over: longest road is settled and the
+     * win, round-end and stalemate checks run as they do in play().
+     */
+    public void endTurn() {
+        updateLongestRoad();
+        currentTurnPhase = TurnPhase.AWAIT_GO;
+        closeTurn();
+    }
+
+    private void closeTurn() {
+        writeState();
+        if (checkWinCondition()) {
+            printVictoryPoints();
+            outcome = GameOutcome.WIN;
+            return;
+        }
+        turnSeat = (turnSeat + 1) % players.size();
+        if (turnSeat == 0) {
+            printVictoryPoints();
+            if (isStalemate()) {
+                outcome = GameOutcome.STALEMATE;
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.Stalemate(currentRound));
+                }
+            }
+        }
+    }
+
     private void placeRobberOnDesert() {
         for (Tile t : board.getTiles()) {
             if (t.getResourceType() == null) {
@@ -92,10 +304,11 @@ public class CatanGame {
         if (availableNodes.isEmpty()) return;
 
         Node chosenNode = availableNodes.get(random.nextInt(availableNodes.size()));
-        Building settlement = new Building(BuildingType.SETTLEMENT, player);
-        chosenNode.setBuilding(settlement);
+        chosenNode.setBuilding(player.settlementFor(chosenNode));
         player.useSetupSettlement();
-        System.out.println("0 / P" + player.getId() + ": Placed settlement at node " + chosenNode.getId());
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.SettlementPlaced(player.getId(), chosenNode.getId()));
+        }
 
         if (isSecondPlacement) {
             for (Tile tile : chosenNode.getAdjacentTiles()) {
@@ -103,7 +316,9 @@ public class CatanGame {
                 if (resource != null && bank.hasEnoughResources(resource, 1)) {
                     bank.distributeResource(resource, 1);
                     player.addResource(resource, 1);
-                    System.out.println("0 / P" + player.getId() + ": Received 1 " + resource + " (starting resources)");
+                    if (events.isEnabled()) {
+                        events.accept(new GameEvent.StartingResource(player.getId(), resource));
+                    }
                 }
             }
         }
@@ -117,17 +332,20 @@ public class CatanGame {
         }
         if (!freeEdges.isEmpty()) {
             Edge chosenEdge = freeEdges.get(random.nextInt(freeEdges.size()));
-            Road road = new Road(player, chosenEdge);
-            chosenEdge.setRoad(road);
+            chosenEdge.setRoad(player.roadFor(chosenEdge));
             player.useSetupRoad();
-            List<Node> endpoints = chosenEdge.getEndpoints();
-            System.out.println("0 / P" + player.getId() + ": Placed road between nodes "
-                    + endpoints.get(0).getId() + " and " + endpoints.get(1).getId());
+            if (events.isEnabled()) {
+                List<Node> endpoints = chosenEdge.getEndpoints();
+                events.accept(new GameEvent.RoadPlaced(player.getId(),
+                        endpoints.get(0).getId(), endpoints.get(1).getId()));
+            }
         }
     }
 
     public boolean executeRound() {
-        for (Player player : players) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            turnSeat = seat;
             diceRollThisTurn = 0;
             currentPlayer = player;
             executeTurn(player);
@@ -138,17 +356,23 @@ public class CatanGame {
             }
             waitForGo();
         }
+        turnSeat = 0;
         printVictoryPoints();
         return false;
     }
 
     private void printVictoryPoints() {
-        StringBuilder vpLine = new StringBuilder(currentRound + " / VP:");
-        for (Player player : players) {
-            int vp = calculateVictoryPoints(player);
-            vpLine.append(" P").append(player.getId()).append("=").append(vp);
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.ScoresReported(currentRound, victoryPointsBySeat()));
+        }
+    }
+
+    private int[] victoryPointsBySeat() {
+        int[] points = new int[players.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = getVictoryPoints(players.get(i));
         }
-        System.out.println(vpLine);
+        return points;
     }
 
     /**
@@ -195,6 +419,20 @@ public class CatanGame {
         }
     }
 
+    /**
+     * Rolls for the player, then either runs the robber (on a 7) or pays out
+     * production. Returns the roll.
+     */
+    public int rollAndProduce(Player player) {
+        int diceRoll = rollDice();
+        if (diceRoll == 7) {
+            handleRollSeven(player);
+        } else {
+            distributeResources(diceRoll);
+        }
+        return diceRoll;
+    }
+
     public void handleRollSeven(Player roller) {
         currentTurnPhase = TurnPhase.ROBBER_DISCARD;
         robberHandler.execute(roller, currentRound);
@@ -203,82 +441,84 @@ public class CatanGame {
 
     public void tryBuildSettlement(Player player, int nodeId) {
         if (currentTurnPhase != TurnPhase.BUILD_OR_TRADE && currentTurnPhase != TurnPhase.POST_ROLL) {
-            System.out.println("Cannot build right now (wrong phase).");
+            reject("Cannot build right now (wrong phase).");
             return;
         }
         if (nodeId < 0 || nodeId >= board.getNodes().size()) {
-            System.out.println("Invalid node id.");
+            reject("Invalid node id.");
             return;
         }
         Node node = board.getNodes().get(nodeId);
         if (!player.canBuildSettlement()) {
-            System.out.println("Cannot build settlement (resources or pieces).");
+            reject("Cannot build settlement (resources or pieces).");
             return;
         }
-        if (!board.getAvailableSettlementNodes(player).contains(node)) {
-            System.out.println("Node not available for settlement.");
+        if (!board.canPlaceSettlement(player, nodeId)) {
+            reject("Node not available for settlement.");
             return;
         }
         player.buildSettlement(node, bank);
-        System.out.println(currentRound + " / P" + player.getId() + ": Built settlement at node " + nodeId);
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.SettlementBuilt(currentRound, player.getId(), nodeId));
+        }
     }
 
     public void tryBuildCity(Player player, int nodeId) {
         if (currentTurnPhase != TurnPhase.BUILD_OR_TRADE && currentTurnPhase != TurnPhase.POST_ROLL) {
-            System.out.println("Cannot build right now (wrong phase).");
+            reject("Cannot build right now (wrong phase).");
             return;
         }
         if (nodeId < 0 || nodeId >= board.getNodes().size()) {
-            System.out.println("Invalid node id.");
+            reject("Invalid node id.");
             return;
         }
         Node node = board.getNodes().get(nodeId);
         if (!player.canBuildCity()) {
-            System.out.println("Cannot build city (resources or pieces).");
+            reject("Cannot build city (resources or pieces).");
             return;
         }
-        if (!board.getUpgradeableNodes(player).contains(node)) {
-            System.out.println("Node does not have your settlement to upgrade.");
+        if (!board.canUpgrade(player, nodeId)) {
+            reject("Node does not have your settlement to upgrade.");
             return;
         }
         player.buildCity(node, bank);
-        System.out.println(currentRound + " / P" + player.getId() + ": Built city at node " + nodeId);
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.CityBuilt(currentRound, player.getId(), nodeId));
+        }
     }
 
     public void tryBuildRoad(Player player, int fromId, int toId) {
         if (currentTurnPhase != TurnPhase.BUILD_OR_TRADE && currentTurnPhase != TurnPhase.POST_ROLL) {
-            System.out.println("Cannot build right now (wrong phase).");
+            reject("Cannot build right now (wrong phase).");
             return;
         }
         if (fromId < 0 || toId < 0) {
-            System.out.println("Invalid edge.");
+            reject("Invalid edge.");
             return;
         }
-        Edge edge = findEdge(fromId, toId);
+        Edge edge = board.getEdge(fromId, toId);
         if (edge == null) {
-            System.out.println("No such edge.");
+            reject("No such edge.");
             return;
         }
         if (!player.canBuildRoad()) {
-            System.out.println("Cannot build road (resources or pieces).");
+            reject("Cannot build road (resources or pieces).");
             return;
         }
-        if (!board.getAvailableRoadEdges(player).contains(edge)) {
-            System.out.println("Edge not available for road.");
+        if (!board.canPlaceRoad(player, edge.getId())) {
+            reject("Edge not available for road.");
             return;
         }
         player.buildRoad(edge, bank);
-        System.out.println(currentRound + " / P" + player.getId() + ": Built road between nodes " + fromId + " and " + toId);
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.RoadBuilt(currentRound, player.getId(), fromId, toId));
+        }
     }
 
-    private Edge findEdge(int a, int b) {
-        for (Edge e : board.getEdges()) {
-            List<Node> ep = e.getEndpoints();
-            if ((ep.get(0).getId() == a && ep.get(1).getId() == b) || (ep.get(0).getId() == b && ep.get(1).getId() == a)) {
-                return e;
-            }
+    private void reject(String reason) {
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.CommandRejected(reason));
         }
-        return null;
     }
 
     private void writeState() {
@@ -294,48 +534,214 @@ public class CatanGame {
 
     public void distributeResources(int diceRoll) {
         currentTurnPhase = TurnPhase.POST_ROLL;
-        Tile blocked = robber.getCurrentTile();
-        List<Tile> activeTiles = board.getTilesForNumber(diceRoll);
-        for (Tile tile : activeTiles) {
-            if (tile == blocked) continue;
-            ResourceType resource = tile.getResourceType();
-            if (resource == null) continue;
-            for (Node node : tile.getAdjacentNodes()) {
-                if (node.isOccupied()) {
-                    Building building = node.getBuilding();
-                    Player owner = building.getOwner();
-                    int amount = building.getResourceMultiplier();
-                    if (bank.hasEnoughResources(resource, amount)) {
-                        bank.distributeResource(resource, amount);
-                        owner.addResource(resource, amount);
-                        System.out.println(currentRound + " / P" + owner.getId()
-                                + ": Received " + amount + " " + resource);
-                    }
+        for (int entry : board.getProduction(diceRoll, robber.getCurrentTile())) {
+            Player owner = board.getSeatOwner(ProductionTable.seat(entry));
+            ResourceType resource = RESOURCE_TYPES[ProductionTable.resource(entry)];
+            int amount = ProductionTable.amount(entry);
+            if (bank.hasEnoughResources(resource, amount)) {
+                bank.distributeResource(resource, amount);
+                owner.addResource(resource, amount);
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.ResourcesProduced(currentRound, owner.getId(), resource, amount));
                 }
             }
         }
         currentTurnPhase = TurnPhase.BUILD_OR_TRADE;
     }
 
+    /**
+     * Checks only the players whose score changed since the last check; a
+     * player whose score did not move cannot have just crossed 10 VP.
+     * A winner stays flagged so repeated checks agree.
+     */
     public boolean checkWinCondition() {
+        pendingScoreChanges |= board.takeScoreChanges();
         for (Player player : players) {
-            int vp = calculateVictoryPoints(player);
+            long bit = 1L << (player.getId() - 1);
+            if ((pendingScoreChanges & bit) == 0) continue;
+            int vp = getVictoryPoints(player);
             if (vp >= 10) {
-                System.out.println(currentRound + " / P" + player.getId()
-                        + ": Wins with " + vp + " victory points!");
+                winner = player;
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.Won(currentRound, player.getId(), vp));
+                }
                 return true;
             }
+            pendingScoreChanges &= ~bit;
         }
         return false;
     }
 
-    private int calculateVictoryPoints(Player player) {
-        int vp = 0;
-        for (Node node : board.getNodes()) {
-            if (node.isOccupied() && node.getBuilding().getOwner() == player) {
-                vp += node.getBuilding().getVictoryPoints();
+    /**
+     * Plays an int-encoded Move for the player: pays the cost and places the
+     * piece, exactly as the matching build command would, without logging.
+     * The caller is responsible for the move being legal and affordable.
+     */
+    public void applyMove(Player player, int move) {
+        int target = Move.target(move);
+        switch (Move.type(move)) {
+            case Move.SETTLEMENT -> player.buildSettlement(board.getNodes().get(target), bank);
+            case Move.CITY -> player.buildCity(board.getNodes().get(target), bank);
+            case Move.ROAD -> player.buildRoad(board.getEdges().get(target), bank);
+            default -> throw new IllegalArgumentException("Unknown move " + move);
+        }
+    }
+
+    /**
+     * Takes back the most recent applyMove(player, move): the piece is lifted
+     * (a city reverts to a settlement) and the cost is refunded from the bank.
+     * Moves must be undone in reverse order. The longest-road holder is left
+     * alone; use a snapshot to branch across updateLongestRoad.
+     */
+    public void undoMove(Player player, int move) {
+        int target = Move.target(move);
+        switch (Move.type(move)) {
+            case Move.SETTLEMENT -> player.unbuildSettlement(board.getNodes().get(target), bank);
+            case Move.CITY -> player.unbuildCity(board.getNodes().get(target), bank);
+            case Move.ROAD -> player.unbuildRoad(board.getEdges().get(target), bank);
+            default -> throw new IllegalArgumentException("Unknown move " + move);
+        }
+    }
+
+    /**
+     * Returns a new snapshot of the game's current state.
+     */
+    public GameSnapshot snapshot() {
+        GameSnapshot snapshot = new GameSnapshot(board.getNodes().size(), board.getEdges().size(),
+                players.size(), streams.length);
+        saveTo(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Copies the game's state into an existing snapshot without allocating.
+     */
+    public void saveTo(GameSnapshot snapshot) {
+        for (int n = 0; n < snapshot.nodeSeat.length; n++) {
+            snapshot.nodeSeat[n] = (byte) board.getNodeSeat(n);
+            snapshot.city[n] = board.isCity(n);
+        }
+        for (int e = 0; e < snapshot.edgeSeat.length; e++) {
+            snapshot.edgeSeat[e] = (byte) board.getEdgeSeat(e);
+        }
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).copyStateTo(snapshot.hands[i], snapshot.pieces[i]);
+        }
+        bank.copyTo(snapshot.bank);
+        for (int i = 0; i < streams.length; i++) {
+            snapshot.randomStates[i] = streams[i].getState();
+        }
+        snapshot.robberTile = robber.getCurrentTile() != null ? robber.getCurrentTile().getId() : -1;
+        snapshot.currentRound = currentRound;
+        snapshot.longestRoadHolder = longestRoadHolder != null ? longestRoadHolder.getId() : 0;
+        snapshot.longestRoadLength = longestRoadLength;
+        snapshot.winner = winner != null ? winner.getId() : 0;
+        snapshot.turnSeat = turnSeat;
+        snapshot.turnPhase = currentTurnPhase.ordinal();
+        snapshot.diceRoll = diceRollThisTurn;
+    }
+
+    /**
+     * Puts the game back into the state saved in snapshot, including whose
+     * turn it is and how far that turn has got. If pieces only
+     * need adding, the board is updated in place; otherwise it is cleared and
+     * the snapshot's pieces are placed again.
+     */
+    public void restore(GameSnapshot snapshot) {
+        boolean onlyAdditions = true;
+        for (int n = 0; n < snapshot.nodeSeat.length && onlyAdditions; n++) {
+            int seat = board.getNodeSeat(n);
+            onlyAdditions = seat < 0 || (seat == snapshot.nodeSeat[n] && (!board.isCity(n) || snapshot.city[n]));
+        }
+        for (int e = 0; e < snapshot.edgeSeat.length && onlyAdditions; e++) {
+            int seat = board.getEdgeSeat(e);
+            onlyAdditions = seat < 0 || seat == snapshot.edgeSeat[e];
+        }
+        if (!onlyAdditions) {
+            board.reset();
+        }
+        for (int n = 0; n < snapshot.nodeSeat.length; n++) {
+            int seat = snapshot.nodeSeat[n];
+            if (seat < 0) continue;
+            Node node = board.getNodes().get(n);
+            if (board.getNodeSeat(n) < 0) {
+                node.setBuilding(players.get(seat).settlementFor(node));
+            }
+            if (snapshot.city[n] && !board.isCity(n)) {
+                node.upgradeToCity();
             }
         }
+        for (int e = 0; e < snapshot.edgeSeat.length; e++) {
+            int seat = snapshot.edgeSeat[e];
+            if (seat >= 0 && board.getEdgeSeat(e) < 0) {
+                Edge edge = board.getEdges().get(e);
+                edge.setRoad(players.get(seat).roadFor(edge));
+            }
+        }
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).restoreState(snapshot.hands[i], snapshot.pieces[i]);
+        }
+        bank.restore(snapshot.bank);
+        for (int i = 0; i < streams.length; i++) {
+            streams[i].setState(snapshot.randomStates[i]);
+        }
+        robber.placeOn(snapshot.robberTile >= 0 ? board.getTiles().get(snapshot.robberTile) : null);
+        currentRound = snapshot.currentRound;
+        longestRoadHolder = snapshot.longestRoadHolder > 0 ? players.get(snapshot.longestRoadHolder - 1) : null;
+        longestRoadLength = snapshot.longestRoadLength;
+        winner = snapshot.winner > 0 ? players.get(snapshot.winner - 1) : null;
+        outcome = winner != null ? GameOutcome.WIN : null;
+        turnSeat = snapshot.turnSeat;
+        diceRollThisTurn = snapshot.diceRoll;
+        currentTurnPhase = TurnPhase.values()[snapshot.turnPhase];
+        currentPlayer = players.get(turnSeat);
+        // Scores may have moved either way; have the next win check look at everyone
+        board.takeScoreChanges();
+        pendingScoreChanges = (1L << players.size()) - 1;
+    }
+
+    /**
+     * True if no player can reach 10 VP any more. Only re-evaluated when a
+     * piece has been placed since the last check: the bound depends on
+     * nothing else.
+     */
+    public boolean isStalemate() {
+        long epoch = board.getEpoch();
+        if (epoch != stalemateCheckedEpoch) {
+            stalemateCheckedEpoch = epoch;
+            stalemate = true;
+            for (Player player : players) {
+                if (getMaxReachableVictoryPoints(player) >= 10) {
+                    stalemate = false;
+                    break;
+                }
+            }
+        }
+        return stalemate;
+    }
+
+    /**
+     * Upper bound on the player's final score, assuming unlimited resources:
+     * current building points, plus a settlement on every reachable spot the
+     * remaining pieces allow (an upgrade frees a settlement piece), plus a
+     * city upgrade per remaining city piece, plus 2 unless the longest road
+     * is out of reach for good.
+     */
+    public int getMaxReachableVictoryPoints(Player player) {
+        int spots = board.countReachableSettlementSpots(player, player.getRemainingRoads());
+        int newSettlements = Math.min(spots, player.getRemainingSettlements() + player.getRemainingCities());
+        int upgrades = Math.min(player.getRemainingCities(), board.countSettlements(player) + newSettlements);
+        boolean roadPossible = player == longestRoadHolder || player.getRemainingRoads() > 0
+                || board.calculateLongestRoad(player) >= 5;
+        return board.getBuildingPoints(player) + newSettlements + upgrades + (roadPossible ? 2 : 0);
+    }
+
+    /**
+     * Returns the player's current score: building points from the board's
+     * running ledger plus 2 for holding the longest road.
+     */
+    public int getVictoryPoints(Player player) {
+        int vp = board.getBuildingPoints(player);
         if (longestRoadHolder == player) {
             vp += 2;
         }
@@ -361,11 +767,13 @@ public class CatanGame {
         }
 
         if (bestPlayer != longestRoadHolder) {
+            if (bestPlayer != null) {
+                pendingScoreChanges |= 1L << (bestPlayer.getId() - 1);
+            }
             longestRoadHolder = bestPlayer;
             longestRoadLength = (bestPlayer != null) ? bestLength : 4;
-            if (bestPlayer != null) {
-                System.out.println(currentRound + " / P" + bestPlayer.getId()
-                        + ": Claimed longest road (" + bestLength + ")");
+            if (bestPlayer != null && events.isEnabled()) {
+                events.accept(new GameEvent.LongestRoadClaimed(currentRound, bestPlayer.getId(), bestLength));
             }
         } else if (bestPlayer != null) {
             longestRoadLength = bestLength;
@@ -373,17 +781,22 @@ public class CatanGame {
     }
 
     public void printRoundSummary() {
-        System.out.println("=== Game Over ===");
-        System.out.println("Rounds played: " + currentRound);
-        for (Player player : players) {
-            int vp = calculateVictoryPoints(player);
-            System.out.println("P" + player.getId() + ": " + vp + " VP, "
-                    + player.getTotalResourceCards() + " resource cards");
+        if (!events.isEnabled()) {
+            return;
         }
-        if (longestRoadHolder != null) {
-            System.out.println("Longest road: P" + longestRoadHolder.getId()
-                    + " (" + longestRoadLength + ")");
+        int[] resourceCards = new int[players.size()];
+        for (int i = 0; i < resourceCards.length; i++) {
+            resourceCards[i] = players.get(i).getTotalResourceCards();
         }
+        events.accept(new GameEvent.GameOver(currentRound, victoryPointsBySeat(), resourceCards,
+                longestRoadHolder != null ? longestRoadHolder.getId() : 0, longestRoadLength));
+    }
+
+    /**
+     * Returns the player with the given id (1-4).
+     */
+    public Player getPlayer(int id) {
+        return players.get(id - 1);
     }
 
     public Board getBoard() {
@@ -402,7 +815,38 @@ public class CatanGame {
         return currentTurnPhase;
     }
 
+    // Turn and robber state for ObservationEncoder
+    Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    int getDiceRollThisTurn() {
+        return diceRollThisTurn;
+    }
+
+    Tile getRobberTile() {
+        return robber.getCurrentTile();
+    }
+
+    Player getLongestRoadHolder() {
+        return longestRoadHolder;
+    }
+
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * Returns the player who reached 10 VP, or null if the game ran out of rounds.
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns how the last play() ended, or null before it has finished.
+     */
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
 }
@@ -8,10 +8,30 @@ public class Configuration {
 
     private int maxRounds;
     private int humanPlayerId;
+    private int games;
+    private long seed;
+    private boolean seeded;
+    private int threads;
+    private boolean commonRandomNumbers;
+    private String transcriptPath;
+    private int mctsPlayerId;
+    private int playouts;
+    private int thinkMillis;
+    private int searchThreads;
 
     public Configuration() {
         this.maxRounds = 50;
         this.humanPlayerId = 0;
+        this.games = 1000;
+        this.seed = 0;
+        this.seeded = false;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.commonRandomNumbers = false;
+        this.transcriptPath = null;
+        this.mctsPlayerId = 0;
+        this.playouts = 200;
+        this.thinkMillis = 0;
+        this.searchThreads = 1;
     }
 
     public int getMaxRounds() {
@@ -22,6 +42,73 @@ public class Configuration {
         return humanPlayerId;
     }
 
+    /**
+     * Number of games to run in batch mode (BatchSimulator).
+     */
+    public int getGames() {
+        return games;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * True if a seed was configured; batch runs are then reproducible.
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Worker threads for batch mode; defaults to the number of cores.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * True if batch games are played in mirrored pairs on a shared dice tape.
+     */
+    public boolean isCommonRandomNumbers() {
+        return commonRandomNumbers;
+    }
+
+    /**
+     * File to write the game transcript to (gzipped if it ends in .gz), or null.
+     */
+    public String getTranscriptPath() {
+        return transcriptPath;
+    }
+
+    /**
+     * Seat played by MctsPlayer (1-4), or 0 for none.
+     */
+    public int getMctsPlayerId() {
+        return mctsPlayerId;
+    }
+
+    /**
+     * Playouts MctsPlayer runs per decision; 0 means no limit (use thinkms).
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Time limit per MctsPlayer decision in milliseconds; 0 means no limit.
+     */
+    public int getThinkMillis() {
+        return thinkMillis;
+    }
+
+    /**
+     * Threads MctsPlayer searches with (root parallelization).
+     */
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
     public boolean isHumanGame() {
         return humanPlayerId >= 1 && humanPlayerId <= 4;
     }
@@ -56,6 +143,107 @@ public class Configuration {
                         }
                     }
                 }
+                if (line.startsWith("games")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 1 && value <= 10_000_000) {
+                                this.games = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid games value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("threads")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 1 && value <= 1024) {
+                                this.threads = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid threads value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("transcript")) {
+                    String[] parts = line.split("[=:]", 2);
+                    if (parts.length == 2 && !parts[1].isBlank()) {
+                        this.transcriptPath = parts[1].trim();
+                    }
+                }
+                if (line.startsWith("crn")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        this.commonRandomNumbers = Boolean.parseBoolean(parts[1].trim());
+                    }
+                }
+                if (line.startsWith("mcts")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 0 && value <= 4) {
+                                this.mctsPlayerId = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid mcts value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("playouts")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 0 && value <= 10_000_000) {
+                                this.playouts = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid playouts value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("thinkms")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 0 && value <= 600_000) {
+                                this.thinkMillis = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid thinkms value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("searchthreads")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            int value = Integer.parseInt(parts[1].trim());
+                            if (value >= 1 && value <= 1024) {
+                                this.searchThreads = value;
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid searchthreads value: " + parts[1].trim());
+                        }
+                    }
+                }
+                if (line.startsWith("seed")) {
+                    String[] parts = line.split("[=:]");
+                    if (parts.length == 2) {
+                        try {
+                            this.seed = Long.parseLong(parts[1].trim());
+                            this.seeded = true;
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid seed value: " + parts[1].trim());
+                        }
+                    }
+                }
             }
         } catch (IOException e) {
             System.err.println("Could not load config: " + e.getMessage());
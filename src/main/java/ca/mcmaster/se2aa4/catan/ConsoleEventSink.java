@@ -0,0 +1,72 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.io.PrintStream;
+
+/**
+ * Prints events in the simulator's "round / Pn: action" log format.
+ */
+public class ConsoleEventSink implements GameEventSink {
+
+    private final PrintStream out;
+
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        switch (event) {
+            case GameEvent.SettlementPlaced e ->
+                    out.println("0 / P" + e.playerId() + ": Placed settlement at node " + e.node());
+            case GameEvent.StartingResource e ->
+                    out.println("0 / P" + e.playerId() + ": Received 1 " + e.resource() + " (starting resources)");
+            case GameEvent.RoadPlaced e ->
+                    out.println("0 / P" + e.playerId() + ": Placed road between nodes " + e.from() + " and " + e.to());
+            case GameEvent.SettlementBuilt e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Built settlement at node " + e.node());
+            case GameEvent.CityBuilt e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Built city at node " + e.node());
+            case GameEvent.RoadBuilt e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Built road between nodes "
+                            + e.from() + " and " + e.to());
+            case GameEvent.ResourcesProduced e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Received " + e.amount() + " " + e.resource());
+            case GameEvent.Discarded e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Discarded " + e.amount() + " " + e.resource());
+            case GameEvent.RobberMoved e -> {
+                // not part of the console log
+            }
+            case GameEvent.Stolen e ->
+                    out.println(e.round() + " / P" + e.thiefId() + ": Stole 1 " + e.resource() + " from P" + e.victimId());
+            case GameEvent.LongestRoadClaimed e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Claimed longest road (" + e.length() + ")");
+            case GameEvent.Won e ->
+                    out.println(e.round() + " / P" + e.playerId() + ": Wins with " + e.victoryPoints() + " victory points!");
+            case GameEvent.Stalemate e ->
+                    out.println(e.round() + " / Stalemate: no player can reach 10 victory points");
+            case GameEvent.ScoresReported e -> printScores(e);
+            case GameEvent.GameOver e -> printGameOver(e);
+            case GameEvent.CommandRejected e -> out.println(e.reason());
+        }
+    }
+
+    private void printScores(GameEvent.ScoresReported e) {
+        StringBuilder vpLine = new StringBuilder(e.round() + " / VP:");
+        for (int i = 0; i < e.victoryPoints().length; i++) {
+            vpLine.append(" P").append(i + 1).append("=").append(e.victoryPoints()[i]);
+        }
+        out.println(vpLine);
+    }
+
+    private void printGameOver(GameEvent.GameOver e) {
+        out.println("=== Game Over ===");
+        out.println("Rounds played: " + e.rounds());
+        for (int i = 0; i < e.victoryPoints().length; i++) {
+            out.println("P" + (i + 1) + ": " + e.victoryPoints()[i] + " VP, "
+                    + e.resourceCards()[i] + " resource cards");
+        }
+        if (e.longestRoadHolder() != 0) {
+            out.println("Longest road: P" + e.longestRoadHolder() + " (" + e.longestRoadLength() + ")");
+        }
+    }
+}
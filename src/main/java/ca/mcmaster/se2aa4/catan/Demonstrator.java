@@ -1,5 +1,7 @@
 package ca.mcmaster.se2aa4.catan;
 
+import java.io.IOException;
+
 /**
  * Demonstrator program for the Catan simulator (R2.6).
  *
@@ -23,10 +25,16 @@ package ca.mcmaster.se2aa4.catan;
  * Config file format:
  *   turns=100
  *   human=1
+ *   transcript=game.log.gz   (optional: write the action log to a file,
+ *                             off the game thread; gzipped if it ends in .gz)
+ *   mcts=2                   (optional: player 2 searches with MctsPlayer)
+ *   playouts=200             (MCTS playouts per decision; 0 = time only)
+ *   thinkms=0                (MCTS time per decision; 0 = playouts only)
+ *   searchthreads=4          (MCTS worker threads)
  */
 public class Demonstrator {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Create the game — initializes board, 4 agent players, dice, bank
         CatanGame game = new CatanGame();
 
@@ -43,6 +51,36 @@ public class Demonstrator {
 
         // Run the game — setup phase (snake draft), then rounds until
         // max rounds or a player reaches 10 VP
-        game.play();
+        String transcript = game.getConfiguration().getTranscriptPath();
+        if (transcript == null) {
+            game.play();
+            reportSearch(game);
+            return;
+        }
+        try (AsyncTranscriptWriter writer = AsyncTranscriptWriter.open(transcript)) {
+            // A human still needs the log on the console; agents-only games go to the file alone
+            if (game.getConfiguration().isHumanGame()) {
+                GameEventSink console = game.getEventSink();
+                game.setEventSink(event -> {
+                    console.accept(event);
+                    writer.accept(event);
+                });
+            } else {
+                game.setEventSink(writer);
+            }
+            game.play();
+        }
+        reportSearch(game);
+    }
+
+    /**
+     * Prints how fast the MCTS player searched, for sizing hardware.
+     */
+    private static void reportSearch(CatanGame game) {
+        int id = game.getMctsPlayerId();
+        if (id > 0 && game.getPlayer(id) instanceof MctsPlayer mcts) {
+            System.out.printf("P%d (MCTS): %d playouts in %.2f s (%.0f playouts/s)%n", id,
+                    mcts.getPlayouts(), mcts.getSearchNanos() / 1e9, mcts.getPlayoutsPerSecond());
+        }
     }
 }
@@ -1,18 +1,31 @@
 package ca.mcmaster.se2aa4.catan;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Dice {
 
-    private final Random random;
+    private final DiceSource source;
 
     public Dice() {
-        this.random = new Random();
+        this(GameRandom.unseeded());
+    }
+
+    public Dice(RandomGenerator random) {
+        this.source = () -> {
+            int die1 = random.nextInt(6) + 1;
+            int die2 = random.nextInt(6) + 1;
+            return die1 + die2;
+        };
+    }
+
+    /**
+     * Rolls from the given source instead, e.g. a DiceTape reader.
+     */
+    public Dice(DiceSource source) {
+        this.source = source;
     }
 
     public int roll() {
-        int die1 = random.nextInt(6) + 1;
-        int die2 = random.nextInt(6) + 1;
-        return die1 + die2;
+        return source.roll();
     }
 }
@@ -0,0 +1,13 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Where Dice gets its rolls from: live random draws or a recorded DiceTape.
+ */
+@FunctionalInterface
+public interface DiceSource {
+
+    /**
+     * Returns the total of two six-sided dice (2-12).
+     */
+    int roll();
+}
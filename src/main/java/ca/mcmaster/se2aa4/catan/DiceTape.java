@@ -0,0 +1,55 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A pre-generated sequence of dice totals. The tape itself is immutable, so
+ * one tape can be shared by any number of games; each game replays it from
+ * the start through its own reader. Pairing games on one tape (common random
+ * numbers) removes dice luck from the difference between them.
+ */
+public final class DiceTape {
+
+    private final byte[] rolls;
+
+    private DiceTape(byte[] rolls) {
+        this.rolls = rolls;
+    }
+
+    /**
+     * Records length rolls of two fair dice drawn from random.
+     */
+    public static DiceTape record(RandomGenerator random, int length) {
+        byte[] rolls = new byte[length];
+        for (int i = 0; i < length; i++) {
+            rolls[i] = (byte) (random.nextInt(6) + random.nextInt(6) + 2);
+        }
+        return new DiceTape(rolls);
+    }
+
+    public int length() {
+        return rolls.length;
+    }
+
+    public int rollAt(int index) {
+        return rolls[index];
+    }
+
+    /**
+     * Returns a fresh reader positioned at the start of the tape. A reader
+     * that runs past the end starts over from the beginning.
+     */
+    public DiceSource reader() {
+        return new DiceSource() {
+            private int position;
+
+            @Override
+            public int roll() {
+                if (position == rolls.length) {
+                    position = 0;
+                }
+                return rolls[position++];
+            }
+        };
+    }
+}
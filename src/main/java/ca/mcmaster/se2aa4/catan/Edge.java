@@ -4,16 +4,25 @@ import java.util.List;
 
 public class Edge {
 
+    private final int id;
     private final Node node1;
     private final Node node2;
+    private final List<Node> endpoints;
     private Road road;
+    private Board board;
 
-    public Edge(Node node1, Node node2) {
+    public Edge(int id, Node node1, Node node2) {
+        this.id = id;
         this.node1 = node1;
         this.node2 = node2;
+        this.endpoints = List.of(node1, node2);
         this.road = null;
-        node1.addAdjacentEdge(this);
-        node2.addAdjacentEdge(this);
+        node1.linkEdge(this);
+        node2.linkEdge(this);
+    }
+
+    public int getId() {
+        return id;
     }
 
     public boolean isOccupied() {
@@ -26,9 +35,23 @@ public class Edge {
 
     public void setRoad(Road road) {
         this.road = road;
+        if (board != null) {
+            board.syncEdge(this);
+        }
+    }
+
+    /**
+     * Drops the road without notifying the board; only for Board.reset.
+     */
+    void clearRoad() {
+        this.road = null;
+    }
+
+    void attachTo(Board board) {
+        this.board = board;
     }
 
     public List<Node> getEndpoints() {
-        return List.of(node1, node2);
+        return endpoints;
     }
 }
@@ -0,0 +1,70 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Everything a game reports as it runs, as typed records instead of
+ * preformatted strings. Players are identified by id and nodes by node id;
+ * round 0 is the setup phase. Formatting is left to the GameEventSink.
+ */
+public sealed interface GameEvent {
+
+    record SettlementPlaced(int playerId, int node) implements GameEvent {
+    }
+
+    record StartingResource(int playerId, ResourceType resource) implements GameEvent {
+    }
+
+    record RoadPlaced(int playerId, int from, int to) implements GameEvent {
+    }
+
+    record SettlementBuilt(int round, int playerId, int node) implements GameEvent {
+    }
+
+    record CityBuilt(int round, int playerId, int node) implements GameEvent {
+    }
+
+    record RoadBuilt(int round, int playerId, int from, int to) implements GameEvent {
+    }
+
+    record ResourcesProduced(int round, int playerId, ResourceType resource, int amount) implements GameEvent {
+    }
+
+    record Discarded(int round, int playerId, ResourceType resource, int amount) implements GameEvent {
+    }
+
+    record RobberMoved(int round, int tile) implements GameEvent {
+    }
+
+    record Stolen(int round, int thiefId, int victimId, ResourceType resource) implements GameEvent {
+    }
+
+    record LongestRoadClaimed(int round, int playerId, int length) implements GameEvent {
+    }
+
+    record Won(int round, int playerId, int victoryPoints) implements GameEvent {
+    }
+
+    /**
+     * The game was ended early because no player can reach 10 VP any more.
+     */
+    record Stalemate(int round) implements GameEvent {
+    }
+
+    /**
+     * Scores after a round (or the winning turn); victoryPoints[i] is player i+1's.
+     */
+    record ScoresReported(int round, int[] victoryPoints) implements GameEvent {
+    }
+
+    /**
+     * The final standings; longestRoadHolder is 0 if nobody holds it.
+     */
+    record GameOver(int rounds, int[] victoryPoints, int[] resourceCards,
+                    int longestRoadHolder, int longestRoadLength) implements GameEvent {
+    }
+
+    /**
+     * A build command that was refused, with the reason shown to the player.
+     */
+    record CommandRejected(String reason) implements GameEvent {
+    }
+}
@@ -0,0 +1,28 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Receives a game's events. Emitters check isEnabled first, so a disabled
+ * sink costs neither the event allocation nor any string building.
+ */
+public interface GameEventSink {
+
+    /**
+     * Discards everything; emitters skip creating events for it.
+     */
+    GameEventSink NONE = new GameEventSink() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void accept(GameEvent event) {
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    void accept(GameEvent event);
+}
@@ -0,0 +1,13 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * How a game ended.
+ */
+public enum GameOutcome {
+    /** A player reached 10 victory points. */
+    WIN,
+    /** The configured number of rounds ran out. */
+    ROUND_LIMIT,
+    /** Ended early: no player could still reach 10 victory points. */
+    STALEMATE
+}
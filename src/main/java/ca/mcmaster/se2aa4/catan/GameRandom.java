@@ -0,0 +1,79 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A small, fast SplitMix64 generator. Unlike java.util.Random it keeps a
+ * plain long state (no atomic update), so it is cheap on the hot path but
+ * must stay confined to one game and one thread.
+ *
+ * A game owns one root generator and splits off an independent stream for
+ * each consumer (dice, setup, robber, each agent). A consumer's draws then
+ * depend only on the seed, never on how often the others were called.
+ */
+public final class GameRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * An unpredictably seeded generator, for games that need not be reproduced.
+     */
+    public static GameRandom unseeded() {
+        return new GameRandom(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a new generator whose stream is independent of this one's.
+     * Advances this generator by one step.
+     */
+    public GameRandom split() {
+        GameRandom child = new GameRandom(0);
+        splitInto(child);
+        return child;
+    }
+
+    /**
+     * Reseeds child exactly as split() would seed a new generator, without allocating.
+     */
+    public void splitInto(GameRandom child) {
+        child.state = mix(nextLong() ^ GOLDEN_GAMMA);
+    }
+
+    /**
+     * The generator's entire state; setState(getState()) replays from here.
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * SplitMix64 output function: a bijective scramble of a 64-bit value.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
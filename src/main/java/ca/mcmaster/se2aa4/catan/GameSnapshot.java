@@ -0,0 +1,67 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+
+/**
+ * A copy of a game's mutable state in primitive arrays: occupancy, hands,
+ * remaining pieces, bank, robber, random-stream states, the longest-road
+ * holder and the turn in progress. Filled by CatanGame.saveTo and applied
+ * by CatanGame.restore; one instance can be reused for any number of saves.
+ *
+ * A DiceTape reader's position is not part of the snapshot; games rolling
+ * from the built-in dice stream replay exactly.
+ */
+public final class GameSnapshot {
+
+    static final int PIECE_TYPES = 3;
+
+    // Per node: -1 empty, else seat; cities are flagged separately
+    final byte[] nodeSeat;
+    final boolean[] city;
+    final byte[] edgeSeat;
+    final int[][] hands;
+    final int[][] pieces;
+    final int[] bank;
+    final long[] randomStates;
+    int robberTile;
+    int currentRound;
+    int longestRoadHolder;
+    int longestRoadLength;
+    int winner;
+    int turnSeat;
+    int turnPhase;
+    int diceRoll;
+
+    GameSnapshot(int nodes, int edges, int players, int streams) {
+        this.nodeSeat = new byte[nodes];
+        this.city = new boolean[nodes];
+        this.edgeSeat = new byte[edges];
+        this.hands = new int[players][ResourceType.values().length];
+        this.pieces = new int[players][PIECE_TYPES];
+        this.bank = new int[ResourceType.values().length];
+        this.randomStates = new long[streams];
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GameSnapshot s)) {
+            return false;
+        }
+        return Arrays.equals(nodeSeat, s.nodeSeat) && Arrays.equals(city, s.city)
+                && Arrays.equals(edgeSeat, s.edgeSeat) && Arrays.deepEquals(hands, s.hands)
+                && Arrays.deepEquals(pieces, s.pieces) && Arrays.equals(bank, s.bank)
+                && Arrays.equals(randomStates, s.randomStates) && robberTile == s.robberTile
+                && currentRound == s.currentRound && longestRoadHolder == s.longestRoadHolder
+                && longestRoadLength == s.longestRoadLength && winner == s.winner
+                && turnSeat == s.turnSeat && turnPhase == s.turnPhase && diceRoll == s.diceRoll;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(nodeSeat) * 31 + Arrays.hashCode(edgeSeat);
+    }
+}
@@ -0,0 +1,109 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Computes the longest continuous road for one player's road network.
+ * The player's roads are renumbered 0..k-1 so a single long serves as the
+ * visited set (a player owns at most 15 roads). Each connected component is
+ * searched only from its endpoints, branch nodes and blocked nodes, since a
+ * longest trail can always be made to start at one of those; a component
+ * that is a plain cycle is searched from any one of its nodes.
+ * An opponent building on a node ends a road there: the trail may stop at
+ * the node but not pass through it.
+ */
+final class LongestRoadEngine {
+
+    private final long[] edgeNodeMask;
+    private final long[] incident;
+    private final int[] endA;
+    private final int[] endB;
+    private long blockers;
+
+    LongestRoadEngine(long[] edgeNodeMask, int nodeCount) {
+        this.edgeNodeMask = edgeNodeMask;
+        this.incident = new long[nodeCount];
+        this.endA = new int[Long.SIZE];
+        this.endB = new int[Long.SIZE];
+    }
+
+    /**
+     * @param roads    the player's road bits, 64 edges per word
+     * @param blockers nodes carrying an opponent's building
+     * @return length of the longest road, 0 if the player has none
+     */
+    int compute(long[] roads, long blockers) {
+        this.blockers = blockers;
+        int count = 0;
+        long touched = 0;
+        for (int w = 0; w < roads.length; w++) {
+            for (long bits = roads[w]; bits != 0 && count < Long.SIZE; bits &= bits - 1) {
+                long ends = edgeNodeMask[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                int a = Long.numberOfTrailingZeros(ends);
+                int b = 63 - Long.numberOfLeadingZeros(ends);
+                endA[count] = a;
+                endB[count] = b;
+                incident[a] |= 1L << count;
+                incident[b] |= 1L << count;
+                touched |= ends;
+                count++;
+            }
+        }
+
+        int longest = 0;
+        long unvisited = touched;
+        while (unvisited != 0) {
+            long component = component(Long.numberOfTrailingZeros(unvisited));
+            unvisited &= ~component;
+            long starts = 0;
+            for (long bits = component; bits != 0; bits &= bits - 1) {
+                int n = Long.numberOfTrailingZeros(bits);
+                if (Long.bitCount(incident[n]) != 2 || (blockers & (1L << n)) != 0) {
+                    starts |= 1L << n;
+                }
+            }
+            if (starts == 0) {
+                starts = Long.lowestOneBit(component);
+            }
+            for (long bits = starts; bits != 0; bits &= bits - 1) {
+                longest = Math.max(longest, walk(Long.numberOfTrailingZeros(bits), 0L));
+            }
+        }
+
+        for (long bits = touched; bits != 0; bits &= bits - 1) {
+            incident[Long.numberOfTrailingZeros(bits)] = 0;
+        }
+        return longest;
+    }
+
+    /**
+     * Nodes reachable from start over the player's roads, ignoring blockers.
+     */
+    private long component(int start) {
+        long seen = 1L << start;
+        long frontier = seen;
+        while (frontier != 0) {
+            int n = Long.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+            for (long bits = incident[n]; bits != 0; bits &= bits - 1) {
+                int i = Long.numberOfTrailingZeros(bits);
+                long next = (1L << endA[i]) | (1L << endB[i]);
+                frontier |= next & ~seen;
+                seen |= next;
+            }
+        }
+        return seen;
+    }
+
+    private int walk(int node, long visited) {
+        int best = 0;
+        for (long bits = incident[node] & ~visited; bits != 0; bits &= bits - 1) {
+            int i = Long.numberOfTrailingZeros(bits);
+            int next = endA[i] == node ? endB[i] : endA[i];
+            int length = 1;
+            if ((blockers & (1L << next)) == 0) {
+                length += walk(next, visited | (1L << i));
+            }
+            best = Math.max(best, length);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,279 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player that picks each build by Monte Carlo search: every candidate
+ * (including ending the turn) is scored by random playouts from a snapshot
+ * of the real game, and the most-visited candidate is played. It keeps
+ * building until the search prefers to end the turn.
+ *
+ * The search is flat UCB1 over the candidates. It is root-parallel: each
+ * worker thread has its own copy of the game and its own statistics, and
+ * the statistics are summed once every worker has finished. All MCTS
+ * players share one pool sized to the machine's cores, so nothing needs
+ * shutting down however many games seat one. A playout
+ * plays all four seats as random agents for HORIZON_ROUNDS rounds (or to
+ * the end of the game) and scores 1 for a win, 0 for a loss, otherwise
+ * this player's share of the victory points on the board.
+ *
+ * Budget per decision: configuration.playouts playouts split across the
+ * workers, and/or configuration.thinkms milliseconds. A playout budget with
+ * one search thread is reproducible; a time budget is not.
+ */
+public class MctsPlayer extends Player {
+
+    static final int HORIZON_ROUNDS = 10;
+    private static final int DEFAULT_PLAYOUTS = 200;
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final RandomGenerator random;
+    private final Configuration configuration;
+    private final int playouts;
+    private final long thinkNanos;
+    private final MoveGenerator moves = new MoveGenerator();
+    private final Worker[] workers;
+    private GameSnapshot root;
+    private int[] candidates = new int[0];
+    private long[] visits = new long[0];
+    private double[] totals = new double[0];
+    private long playoutCount;
+    private long searchNanos;
+
+    public MctsPlayer(int id, RandomGenerator random, Configuration configuration) {
+        super(id);
+        this.random = random;
+        this.configuration = configuration;
+        int budget = configuration.getPlayouts();
+        this.thinkNanos = configuration.getThinkMillis() * 1_000_000L;
+        // Without either limit a search would never stop
+        this.playouts = budget == 0 && thinkNanos == 0 ? DEFAULT_PLAYOUTS : budget;
+        this.workers = new Worker[configuration.getSearchThreads()];
+    }
+
+    @Override
+    public void takeTurn(CatanGame game) {
+        game.rollAndProduce(this);
+        while (true) {
+            int move = chooseMove(game);
+            if (move == Move.END_TURN) {
+                break;
+            }
+            playMove(move, game.getBoard(), game.getBank(), game.getCurrentRound(), game.getEventSink());
+        }
+        game.updateLongestRoad();
+    }
+
+    /**
+     * Searches from game's current position (this player's turn, after the
+     * roll) and returns the chosen Move, or Move.END_TURN.
+     */
+    public int chooseMove(CatanGame game) {
+        int builds = moves.refresh(this, game.getBoard());
+        if (builds == 0) {
+            return Move.END_TURN;
+        }
+        int count = builds + 1;
+        if (candidates.length < count) {
+            candidates = new int[count];
+            visits = new long[count];
+            totals = new double[count];
+        }
+        candidates[0] = Move.END_TURN;
+        for (int i = 0; i < builds; i++) {
+            candidates[i + 1] = moves.get(i);
+        }
+        if (root == null) {
+            root = game.snapshot();
+        } else {
+            game.saveTo(root);
+        }
+
+        long start = System.nanoTime();
+        long deadline = thinkNanos > 0 ? start + thinkNanos : Long.MAX_VALUE;
+        for (int w = 0; w < workers.length; w++) {
+            if (workers[w] == null) {
+                workers[w] = new Worker(id, configuration);
+            }
+            // Split the budget exactly: the first playouts % n workers run one extra
+            int share = playouts > 0
+                    ? playouts / workers.length + (w < playouts % workers.length ? 1 : 0)
+                    : Integer.MAX_VALUE;
+            workers[w].prepare(root, candidates, count, share, deadline, random.nextLong());
+        }
+        search();
+
+        Arrays.fill(visits, 0, count, 0L);
+        Arrays.fill(totals, 0, count, 0.0);
+        for (Worker worker : workers) {
+            for (int k = 0; k < count; k++) {
+                visits[k] += worker.visits[k];
+                totals[k] += worker.totals[k];
+            }
+        }
+        int best = 0;
+        for (int k = 1; k < count; k++) {
+            if (visits[k] > visits[best] || (visits[k] == visits[best] && totals[k] > totals[best])) {
+                best = k;
+            }
+            playoutCount += visits[k];
+        }
+        playoutCount += visits[0];
+        searchNanos += System.nanoTime() - start;
+        return candidates[best];
+    }
+
+    private void search() {
+        if (workers.length == 1) {
+            workers[0].call();
+            return;
+        }
+        try {
+            for (Future<Void> done : SearchPool.POOL.invokeAll(List.of(workers))) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Playouts run since the last reset, over all decisions and threads.
+     */
+    public long getPlayouts() {
+        return playoutCount;
+    }
+
+    /**
+     * Wall-clock time spent searching since the last reset.
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return searchNanos == 0 ? 0 : playoutCount * 1e9 / searchNanos;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        playoutCount = 0;
+        searchNanos = 0;
+    }
+
+    /**
+     * The search pool, created the first time a player searches on more than
+     * one thread. Its workers are daemon threads.
+     */
+    private static final class SearchPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * One search thread: a private game restored from the root snapshot for
+     * every playout, and per-candidate visit counts and value totals.
+     */
+    private static final class Worker implements Callable<Void> {
+
+        private final int id;
+        private final CatanGame game;
+        private final GameRandom random = new GameRandom(0);
+        private GameSnapshot root;
+        private int[] candidates;
+        private int count;
+        private int share;
+        private long deadline;
+        private long[] visits = new long[0];
+        private double[] totals = new double[0];
+
+        Worker(int id, Configuration configuration) {
+            this.id = id;
+            this.game = new CatanGame(0, configuration);
+            game.setEventSink(GameEventSink.NONE);
+            game.getBoard().initialize();
+        }
+
+        void prepare(GameSnapshot root, int[] candidates, int count, int share, long deadline, long seed) {
+            this.root = root;
+            this.candidates = candidates;
+            this.count = count;
+            this.share = share;
+            this.deadline = deadline;
+            random.setState(seed);
+            if (visits.length < count) {
+                visits = new long[count];
+                totals = new double[count];
+            }
+            Arrays.fill(visits, 0, count, 0L);
+            Arrays.fill(totals, 0, count, 0.0);
+        }
+
+        @Override
+        public Void call() {
+            for (int p = 0; p < share; p++) {
+                if (p > 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                int k = select(p);
+                game.restore(root);
+                game.reseed(random.nextLong());
+                visits[k]++;
+                totals[k] += playout(candidates[k]);
+            }
+            return null;
+        }
+
+        /**
+         * Tries each candidate once, then picks by UCB1.
+         */
+        private int select(int played) {
+            if (played < count) {
+                return played;
+            }
+            double logPlayed = Math.log(played);
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < count; k++) {
+                double score = totals[k] / visits[k] + EXPLORATION * Math.sqrt(logPlayed / visits[k]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = k;
+                }
+            }
+            return best;
+        }
+
+        private double playout(int move) {
+            AgentPlayer self = (AgentPlayer) game.getPlayer(id);
+            Board board = game.getBoard();
+            if (move != Move.END_TURN) {
+                game.applyMove(self, move);
+            }
+            game.endTurn();
+            int horizon = game.getCurrentRound() + HORIZON_ROUNDS;
+            while (game.advanceTo(self) && game.getCurrentRound() <= horizon) {
+                self.chooseRandomAction(board, game.getBank(), game.getCurrentRound(), GameEventSink.NONE);
+                game.endTurn();
+            }
+            Player winner = game.getWinner();
+            if (winner != null) {
+                return winner.getId() == id ? 1 : 0;
+            }
+            int total = 0;
+            for (int i = 1; i <= 4; i++) {
+                total += game.getVictoryPoints(game.getPlayer(i));
+            }
+            return total == 0 ? 0 : (double) game.getVictoryPoints(self) / total;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ca.mcmaster.se2aa4.catan;
+
+/**
+ * Build moves packed into a single int: the move type in the high bits and
+ * the node or edge id in the low byte. Lets move lists live in int arrays.
+ */
+public final class Move {
+
+    /** Ends the mover's turn; its type is 0 and it has no target. */
+    public static final int END_TURN = 0;
+
+    public static final int SETTLEMENT = 1;
+    public static final int CITY = 2;
+    public static final int ROAD = 3;
+
+    private static final int TYPE_SHIFT = 8;
+    private static final int TARGET_MASK = 0xFF;
+
+    private Move() {
+    }
+
+    public static int settlement(int node) {
+        return SETTLEMENT << TYPE_SHIFT | node;
+    }
+
+    public static int city(int node) {
+        return CITY << TYPE_SHIFT | node;
+    }
+
+    public static int road(int edge) {
+        return ROAD << TYPE_SHIFT | edge;
+    }
+
+    public static int type(int move) {
+        return move >>> TYPE_SHIFT;
+    }
+
+    /**
+     * The node id for settlements and cities, the edge id for roads.
+     */
+    public static int target(int move) {
+        return move & TARGET_MASK;
+    }
+
+    public static String toString(int move) {
+        if (move == END_TURN) {
+            return "end-turn";
+        }
+        return switch (type(move)) {
+            case SETTLEMENT -> "settlement@" + target(move);
+            case CITY -> "city@" + target(move);
+            case ROAD -> "road@" + target(move);
+            default -> "invalid(" + move + ")";
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+
+/**
+ * Lists a player's legal, affordable build moves as Move ints in a reusable
+ * buffer: cities, then settlements, then roads, each in ascending id order
+ * (the order AgentPlayer has always drawn from).
+ *
+ * Each kind of move has its own region of the buffer, rewritten only when the
+ * board's mask for it has changed since the last refresh. A kind the hand
+ * cannot pay for is skipped without looking at the board.
+ */
+public final class MoveGenerator {
+
+    private static final int EDGE_WORDS = BoardTopology.EDGE_WORDS;
+    private static final int NODE_LIMIT = 64;
+    private static final int ROAD_OFFSET = 2 * NODE_LIMIT;
+
+    private final int[] moves = new int[ROAD_OFFSET + EDGE_WORDS * 64];
+    private long cityMask;
+    private long settlementMask;
+    private final long[] roadMask = new long[EDGE_WORDS];
+    private final long[] frontier = new long[EDGE_WORDS];
+    private int cities;
+    private int settlements;
+    private int roads;
+
+    /**
+     * Brings the move list up to date for player on board and returns its size.
+     */
+    public int refresh(Player player, Board board) {
+        cities = player.canBuildCity() ? refreshCities(board.getUpgradeableMask(player)) : 0;
+        settlements = player.canBuildSettlement()
+                ? refreshSettlements(board.getSettlementCandidateMask(player)) : 0;
+        if (player.canBuildRoad()) {
+            board.copyRoadFrontier(player, frontier);
+            roads = refreshRoads();
+        } else {
+            roads = 0;
+        }
+        return size();
+    }
+
+    public int size() {
+        return cities + settlements + roads;
+    }
+
+    /**
+     * The move at index, counting across cities, settlements and roads.
+     */
+    public int get(int index) {
+        if (index < cities) {
+            return moves[index];
+        }
+        index -= cities;
+        if (index < settlements) {
+            return moves[NODE_LIMIT + index];
+        }
+        return moves[ROAD_OFFSET + index - settlements];
+    }
+
+    /**
+     * Forgets the cached masks, e.g. when the generator moves to another game.
+     */
+    public void clear() {
+        cityMask = 0;
+        settlementMask = 0;
+        Arrays.fill(roadMask, 0L);
+        cities = 0;
+        settlements = 0;
+        roads = 0;
+    }
+
+    private int refreshCities(long mask) {
+        if (mask != cityMask) {
+            cityMask = mask;
+            writeNodes(mask, 0, Move.CITY);
+        }
+        return Long.bitCount(mask);
+    }
+
+    private int refreshSettlements(long mask) {
+        if (mask != settlementMask) {
+            settlementMask = mask;
+            writeNodes(mask, NODE_LIMIT, Move.SETTLEMENT);
+        }
+        return Long.bitCount(mask);
+    }
+
+    private void writeNodes(long mask, int offset, int type) {
+        int i = offset;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            int node = Long.numberOfTrailingZeros(bits);
+            moves[i++] = type == Move.CITY ? Move.city(node) : Move.settlement(node);
+        }
+    }
+
+    private int refreshRoads() {
+        int count = 0;
+        boolean changed = false;
+        for (int w = 0; w < EDGE_WORDS; w++) {
+            changed |= frontier[w] != roadMask[w];
+            count += Long.bitCount(frontier[w]);
+        }
+        if (changed) {
+            int i = ROAD_OFFSET;
+            for (int w = 0; w < EDGE_WORDS; w++) {
+                roadMask[w] = frontier[w];
+                for (long bits = frontier[w]; bits != 0; bits &= bits - 1) {
+                    moves[i++] = Move.road((w << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -10,6 +10,7 @@ public class Node {
     private final List<Node> adjacentNodes;
     private final List<Tile> adjacentTiles;
     private final List<Edge> adjacentEdges;
+    private Board board;
 
     public Node(int id) {
         this.id = id;
@@ -33,9 +34,61 @@ public class Node {
 
     public void setBuilding(Building building) {
         this.building = building;
+        if (board != null) {
+            board.syncNode(this);
+        }
+    }
+
+    /**
+     * Drops the building without notifying the board; only for Board.reset,
+     * which clears its own state in bulk.
+     */
+    void clearBuilding() {
+        this.building = null;
+    }
+
+    /**
+     * Upgrades the settlement on this node to a city, keeping the board's
+     * occupancy view in step with the change.
+     */
+    public void upgradeToCity() {
+        building.setType(BuildingType.CITY);
+        if (board != null) {
+            board.syncNode(this);
+        }
+    }
+
+    /**
+     * Turns the city on this node back into a settlement (undoing an upgrade).
+     */
+    void downgradeToSettlement() {
+        building.setType(BuildingType.SETTLEMENT);
+        if (board != null) {
+            board.syncNode(this);
+        }
+    }
+
+    // Board wiring: the topology guarantees no duplicates, so skip the contains checks
+    void linkNode(Node node) {
+        adjacentNodes.add(node);
+    }
+
+    void linkTile(Tile tile) {
+        adjacentTiles.add(tile);
+    }
+
+    void linkEdge(Edge edge) {
+        adjacentEdges.add(edge);
+    }
+
+    void attachTo(Board board) {
+        this.board = board;
     }
 
     public boolean satisfiesDistanceRule() {
+        if (board != null) {
+            return board.satisfiesDistanceRule(id);
+        }
         for (Node neighbor : adjacentNodes) {
             if (neighbor.isOccupied()) {
                 return false;
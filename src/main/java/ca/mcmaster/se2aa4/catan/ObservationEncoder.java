@@ -0,0 +1,117 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes a game's state as a fixed-layout binary observation, written with
+ * absolute puts straight into a caller's ByteBuffer (heap, direct or
+ * memory-mapped). Nothing is allocated per call.
+ *
+ * Layout, from the given offset (one byte per field unless noted; multi-byte
+ * fields follow the buffer's byte order):
+ *
+ *   0   int   round
+ *   4         active player id (0 before the first turn)
+ *   5         turn phase (TurnPhase ordinal)
+ *   6         dice roll this turn (0 if not rolled)
+ *   7         robber tile id (-1 if none)
+ *   8         longest-road holder id (0 if none)
+ *   9         bank, per ResourceType
+ *   14        per node: 0 empty, 1-4 settlement of that player, 5-8 city of player 1-4
+ *   ...       per edge: 0 empty, 1-4 road of that player
+ *   ...       per player: hand per ResourceType, then remaining settlements,
+ *             cities and roads, then victory points
+ *
+ * size() gives the total; on the standard board it is 14 + 54 + 72 + 4 * 9.
+ */
+public final class ObservationEncoder {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final int BANK_OFFSET = 9;
+    private static final int NODE_OFFSET = BANK_OFFSET + RESOURCE_TYPES.length;
+    private static final int PLAYERS = 4;
+    private static final int PLAYER_FIELDS = RESOURCE_TYPES.length + 4;
+
+    private final CatanGame game;
+    private final Board board;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int edgeOffset;
+    private final int playerOffset;
+    private final int size;
+
+    public ObservationEncoder(CatanGame game) {
+        this.game = game;
+        this.board = game.getBoard();
+        if (board.getNodes().isEmpty()) {
+            board.initialize();
+        }
+        this.nodeCount = board.getNodes().size();
+        this.edgeCount = board.getEdges().size();
+        this.edgeOffset = NODE_OFFSET + nodeCount;
+        this.playerOffset = edgeOffset + edgeCount;
+        this.size = playerOffset + PLAYERS * PLAYER_FIELDS;
+    }
+
+    /**
+     * Bytes written by each encode call.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the current observation at offset; the buffer's position is
+     * left untouched. Returns the offset just past it.
+     */
+    public int encode(ByteBuffer buffer, int offset) {
+        Player active = game.getCurrentPlayer();
+        Tile robberTile = game.getRobberTile();
+        Player holder = game.getLongestRoadHolder();
+        buffer.putInt(offset, game.getCurrentRound());
+        buffer.put(offset + 4, (byte) (active != null ? active.getId() : 0));
+        buffer.put(offset + 5, (byte) game.getCurrentTurnPhase().ordinal());
+        buffer.put(offset + 6, (byte) game.getDiceRollThisTurn());
+        buffer.put(offset + 7, (byte) (robberTile != null ? robberTile.getId() : -1));
+        buffer.put(offset + 8, (byte) (holder != null ? holder.getId() : 0));
+        Bank bank = game.getBank();
+        for (int r = 0; r < RESOURCE_TYPES.length; r++) {
+            buffer.put(offset + BANK_OFFSET + r, (byte) bank.getRemainingCount(RESOURCE_TYPES[r]));
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            int seat = board.getNodeSeat(n);
+            buffer.put(offset + NODE_OFFSET + n, (byte) (seat < 0 ? 0 : board.isCity(n) ? seat + 5 : seat + 1));
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            buffer.put(offset + edgeOffset + e, (byte) (board.getEdgeSeat(e) + 1));
+        }
+        int at = offset + playerOffset;
+        for (int id = 1; id <= PLAYERS; id++) {
+            Player player = game.getPlayer(id);
+            for (ResourceType type : RESOURCE_TYPES) {
+                buffer.put(at++, (byte) player.getResourceCount(type));
+            }
+            buffer.put(at++, (byte) player.getRemainingSettlements());
+            buffer.put(at++, (byte) player.getRemainingCities());
+            buffer.put(at++, (byte) player.getRemainingRoads());
+            buffer.put(at++, (byte) game.getVictoryPoints(player));
+        }
+        return at;
+    }
+
+    /**
+     * Maps a file holding slots observations so another process can read
+     * them as they are encoded; slot i starts at i * size().
+     */
+    public MappedByteBuffer map(Path path, int slots) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * size);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package ca.mcmaster.se2aa4.catan;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Abstract base for all player types in the Catan simulator.
@@ -11,22 +11,69 @@ import java.util.Map;
 public abstract class Player {
 
     protected final int id;
-    protected final Map<ResourceType, Integer> resources;
+    protected final int[] resources;
     protected int remainingSettlements;
     protected int remainingCities;
     protected int remainingRoads;
+    // Reused pieces, indexed by node / edge id; a player never has two on one spot
+    private Building[] buildingPool;
+    private Road[] roadPool;
 
     protected Player(int id) {
         this.id = id;
-        this.resources = new EnumMap<>(ResourceType.class);
-        for (ResourceType type : ResourceType.values()) {
-            resources.put(type, 0);
-        }
+        this.resources = new int[ResourceType.values().length];
+        this.remainingSettlements = 5;
+        this.remainingCities = 4;
+        this.remainingRoads = 15;
+        this.buildingPool = new Building[0];
+        this.roadPool = new Road[0];
+    }
+
+    /**
+     * Returns the player to an empty hand and a full set of pieces.
+     */
+    public void reset() {
+        Arrays.fill(resources, 0);
         this.remainingSettlements = 5;
         this.remainingCities = 4;
         this.remainingRoads = 15;
     }
 
+    /**
+     * Returns this player's settlement for the node, reusing the instance
+     * from an earlier game (or an earlier, removed settlement) if there is one.
+     */
+    Building settlementFor(Node node) {
+        int n = node.getId();
+        if (n >= buildingPool.length) {
+            buildingPool = Arrays.copyOf(buildingPool, n + 1);
+        }
+        Building building = buildingPool[n];
+        if (building == null) {
+            building = new Building(BuildingType.SETTLEMENT, this);
+            buildingPool[n] = building;
+        } else {
+            building.setType(BuildingType.SETTLEMENT);
+        }
+        return building;
+    }
+
+    /**
+     * Returns this player's road for the edge, reused across games.
+     */
+    Road roadFor(Edge edge) {
+        int e = edge.getId();
+        if (e >= roadPool.length) {
+            roadPool = Arrays.copyOf(roadPool, e + 1);
+        }
+        Road road = roadPool[e];
+        if (road == null || road.getEdge() != edge) {
+            road = new Road(this, edge);
+            roadPool[e] = road;
+        }
+        return road;
+    }
+
     /**
      * Execute this player's turn. Agent players act automatically;
      * human players read commands from the console.
@@ -39,22 +86,22 @@ public abstract class Player {
 
     public int getTotalResourceCards() {
         int total = 0;
-        for (int count : resources.values()) {
+        for (int count : resources) {
             total += count;
         }
         return total;
     }
 
     public int getResourceCount(ResourceType type) {
-        return resources.get(type);
+        return resources[type.ordinal()];
     }
 
     public void addResource(ResourceType type, int amount) {
-        resources.put(type, resources.get(type) + amount);
+        resources[type.ordinal()] += amount;
     }
 
     public void removeResource(ResourceType type, int amount) {
-        resources.put(type, Math.max(0, resources.get(type) - amount));
+        resources[type.ordinal()] = Math.max(0, resources[type.ordinal()] - amount);
     }
 
     public boolean canBuildRoad() {
@@ -82,8 +129,7 @@ public abstract class Player {
         removeResource(ResourceType.WOOD, 1);
         bank.collectResource(ResourceType.BRICK, 1);
         bank.collectResource(ResourceType.WOOD, 1);
-        Road road = new Road(this, edge);
-        edge.setRoad(road);
+        edge.setRoad(roadFor(edge));
         remainingRoads--;
     }
 
@@ -96,8 +142,7 @@ public abstract class Player {
         bank.collectResource(ResourceType.WOOD, 1);
         bank.collectResource(ResourceType.WHEAT, 1);
         bank.collectResource(ResourceType.SHEEP, 1);
-        Building settlement = new Building(BuildingType.SETTLEMENT, this);
-        node.setBuilding(settlement);
+        node.setBuilding(settlementFor(node));
         remainingSettlements--;
     }
 
@@ -106,11 +151,94 @@ public abstract class Player {
         removeResource(ResourceType.ORE, 3);
         bank.collectResource(ResourceType.WHEAT, 2);
         bank.collectResource(ResourceType.ORE, 3);
-        node.getBuilding().setType(BuildingType.CITY);
+        node.upgradeToCity();
         remainingCities--;
         remainingSettlements++;
     }
 
+    /**
+     * Reverses buildRoad: lifts the road and takes the cost back from the bank.
+     */
+    void unbuildRoad(Edge edge, Bank bank) {
+        edge.setRoad(null);
+        refund(bank, ResourceType.BRICK, 1);
+        refund(bank, ResourceType.WOOD, 1);
+        remainingRoads++;
+    }
+
+    /**
+     * Reverses buildSettlement.
+     */
+    void unbuildSettlement(Node node, Bank bank) {
+        node.setBuilding(null);
+        refund(bank, ResourceType.BRICK, 1);
+        refund(bank, ResourceType.WOOD, 1);
+        refund(bank, ResourceType.WHEAT, 1);
+        refund(bank, ResourceType.SHEEP, 1);
+        remainingSettlements++;
+    }
+
+    /**
+     * Reverses buildCity: the city goes back to being a settlement.
+     */
+    void unbuildCity(Node node, Bank bank) {
+        node.downgradeToSettlement();
+        refund(bank, ResourceType.WHEAT, 2);
+        refund(bank, ResourceType.ORE, 3);
+        remainingCities++;
+        remainingSettlements--;
+    }
+
+    private void refund(Bank bank, ResourceType type, int amount) {
+        bank.distributeResource(type, amount);
+        addResource(type, amount);
+    }
+
+    void copyStateTo(int[] hand, int[] pieces) {
+        System.arraycopy(resources, 0, hand, 0, resources.length);
+        pieces[0] = remainingSettlements;
+        pieces[1] = remainingCities;
+        pieces[2] = remainingRoads;
+    }
+
+    void restoreState(int[] hand, int[] pieces) {
+        System.arraycopy(hand, 0, resources, 0, resources.length);
+        remainingSettlements = pieces[0];
+        remainingCities = pieces[1];
+        remainingRoads = pieces[2];
+    }
+
+    /**
+     * Builds the int-encoded Move (see MoveGenerator) and reports it to events.
+     */
+    protected void playMove(int move, Board board, Bank bank, int currentRound, GameEventSink events) {
+        int target = Move.target(move);
+        switch (Move.type(move)) {
+            case Move.CITY -> {
+                buildCity(board.getNodes().get(target), bank);
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.CityBuilt(currentRound, id, target));
+                }
+            }
+            case Move.SETTLEMENT -> {
+                buildSettlement(board.getNodes().get(target), bank);
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.SettlementBuilt(currentRound, id, target));
+                }
+            }
+            case Move.ROAD -> {
+                Edge edge = board.getEdges().get(target);
+                buildRoad(edge, bank);
+                if (events.isEnabled()) {
+                    List<Node> endpoints = edge.getEndpoints();
+                    events.accept(new GameEvent.RoadBuilt(currentRound, id,
+                            endpoints.get(0).getId(), endpoints.get(1).getId()));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown move " + move);
+        }
+    }
+
     public void useSetupSettlement() {
         remainingSettlements--;
     }
@@ -0,0 +1,111 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dice-roll production index for the board.
+ * For each dice value 2-12 it holds a flat array of packed entries, one per
+ * (producing tile, occupied node) pair, so resolving a roll is a walk over a
+ * single int array. Entries are rebuilt lazily, and only for the dice values
+ * whose tiles were touched by a building change or a robber move.
+ */
+final class ProductionTable implements BoardListener {
+
+    private static final int[] NONE = new int[0];
+    private static final int MAX_ROLL = 12;
+
+    private final Board board;
+    private final BoardTopology topology;
+    private final int[][] entries;
+    private final boolean[] dirty;
+    private int robberTileId;
+
+    ProductionTable(Board board) {
+        this.board = board;
+        this.topology = board.getTopology();
+        this.entries = new int[MAX_ROLL + 1][];
+        this.dirty = new boolean[MAX_ROLL + 1];
+        this.robberTileId = -1;
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * Returns the packed production entries for a roll, skipping the tile the
+     * robber sits on. Decode with {@link #seat}, {@link #resource} and {@link #amount}.
+     */
+    int[] entriesFor(int diceRoll, int blockedTileId) {
+        if (diceRoll < 2 || diceRoll > MAX_ROLL) {
+            return NONE;
+        }
+        if (blockedTileId != robberTileId) {
+            markTileDirty(robberTileId);
+            markTileDirty(blockedTileId);
+            robberTileId = blockedTileId;
+        }
+        if (dirty[diceRoll]) {
+            entries[diceRoll] = rebuild(diceRoll);
+            dirty[diceRoll] = false;
+        }
+        return entries[diceRoll];
+    }
+
+    /**
+     * Marks every dice value dirty; the board was emptied.
+     */
+    @Override
+    public void boardReset() {
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * Invalidates the dice values of every tile around a node whose building changed.
+     */
+    @Override
+    public void nodeChanged(int node, int previousSeat, int seat) {
+        for (int i = 0; i < topology.adjacentTileCount(node); i++) {
+            dirty[topology.numberToken(topology.adjacentTile(node, i))] = true;
+        }
+    }
+
+    private void markTileDirty(int tileId) {
+        if (tileId >= 0) {
+            dirty[topology.numberToken(tileId)] = true;
+        }
+    }
+
+    private int[] rebuild(int diceRoll) {
+        List<Tile> tiles = board.getTilesForNumber(diceRoll);
+        int count = 0;
+        int[] packed = new int[tiles.size() * 6];
+        for (Tile tile : tiles) {
+            int t = tile.getId();
+            if (t == robberTileId) continue;
+            int resource = topology.resource(t).ordinal();
+            for (int i = 0; i < topology.cornerCount(t); i++) {
+                int node = topology.corner(t, i);
+                int seat = board.getNodeSeat(node);
+                if (seat >= 0) {
+                    packed[count++] = pack(seat, resource, board.isCity(node) ? 2 : 1);
+                }
+            }
+        }
+        return count == 0 ? NONE : Arrays.copyOf(packed, count);
+    }
+
+    static int pack(int seat, int resource, int amount) {
+        return (seat << 8) | (resource << 4) | amount;
+    }
+
+    static int seat(int entry) {
+        return entry >>> 8;
+    }
+
+    static int resource(int entry) {
+        return (entry >>> 4) & 0xF;
+    }
+
+    static int amount(int entry) {
+        return entry & 0xF;
+    }
+}
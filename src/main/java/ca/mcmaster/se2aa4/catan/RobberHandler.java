@@ -2,7 +2,7 @@ package ca.mcmaster.se2aa4.catan;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Encapsulates the robber sequence triggered when a 7 is rolled (R2.5).
@@ -16,14 +16,20 @@ public class RobberHandler {
     private final List<Player> players;
     private final Robber robber;
     private final Bank bank;
-    private final Random random;
+    private final RandomGenerator random;
+    private GameEventSink events;
 
-    public RobberHandler(Board board, List<Player> players, Robber robber, Bank bank, Random random) {
+    public RobberHandler(Board board, List<Player> players, Robber robber, Bank bank, RandomGenerator random) {
         this.board = board;
         this.players = players;
         this.robber = robber;
         this.bank = bank;
         this.random = random;
+        this.events = new ConsoleEventSink(System.out);
+    }
+
+    public void setEventSink(GameEventSink events) {
+        this.events = events;
     }
 
     /**
@@ -32,7 +38,7 @@ public class RobberHandler {
      */
     public void execute(Player roller, int currentRound) {
         discardFromPlayersOverLimit(currentRound);
-        moveRobber();
+        moveRobber(currentRound);
         stealFromAdjacentPlayer(roller, currentRound);
     }
 
@@ -50,14 +56,16 @@ public class RobberHandler {
                         p.removeResource(type, toDiscard);
                         bank.collectResource(type, toDiscard);
                         discarded += toDiscard;
-                        System.out.println(currentRound + " / P" + p.getId() + ": Discarded " + toDiscard + " " + type);
+                        if (events.isEnabled()) {
+                            events.accept(new GameEvent.Discarded(currentRound, p.getId(), type, toDiscard));
+                        }
                     }
                 }
             }
         }
     }
 
-    private void moveRobber() {
+    private void moveRobber(int currentRound) {
         Tile robberTile = robber.getCurrentTile();
         List<Tile> placeable = new ArrayList<>();
         for (Tile t : board.getTiles()) {
@@ -68,6 +76,9 @@ public class RobberHandler {
         if (!placeable.isEmpty()) {
             Tile newTile = placeable.get(random.nextInt(placeable.size()));
             robber.placeOn(newTile);
+            if (events.isEnabled()) {
+                events.accept(new GameEvent.RobberMoved(currentRound, newTile.getId()));
+            }
         }
     }
 
@@ -91,7 +102,9 @@ public class RobberHandler {
                 ResourceType stolen = options.get(random.nextInt(options.size()));
                 victim.removeResource(stolen, 1);
                 roller.addResource(stolen, 1);
-                System.out.println(currentRound + " / P" + roller.getId() + ": Stole 1 " + stolen + " from P" + victim.getId());
+                if (events.isEnabled()) {
+                    events.accept(new GameEvent.Stolen(currentRound, roller.getId(), victim.getId(), stolen));
+                }
             }
         }
     }
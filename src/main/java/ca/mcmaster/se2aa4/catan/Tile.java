@@ -38,4 +38,8 @@ public class Tile {
             adjacentNodes.add(node);
         }
     }
+
+    void linkNode(Node node) {
+        adjacentNodes.add(node);
+    }
 }
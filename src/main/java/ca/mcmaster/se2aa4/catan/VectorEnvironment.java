@@ -0,0 +1,140 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * K CatanEnvironments stepped together: one call to step plays one move in
+ * every game, spread over a work-stealing pool of configuration.threads
+ * workers. Games share nothing, so the result does not depend on the
+ * thread count.
+ *
+ * A game that finishes is reported through dones and immediately reset
+ * with the next seed of the sequence, so every game always has legal moves.
+ * Seeds whose game ends before player 1 can afford a build are skipped.
+ * Game i's first seed is BatchSimulator.gameSeed(seed, i); replacements take
+ * indices K, K+1, ... in game order, so runs are reproducible.
+ */
+public class VectorEnvironment implements AutoCloseable {
+
+    // Below this many games a step runs on the calling thread
+    private static final int GRAIN = 8;
+
+    private final CatanEnvironment[] environments;
+    private final ForkJoinPool pool;
+    private long seed;
+    private int nextGame;
+
+    public VectorEnvironment(int size, Configuration configuration) {
+        this.environments = new CatanEnvironment[size];
+        for (int i = 0; i < size; i++) {
+            environments[i] = new CatanEnvironment(configuration);
+        }
+        int threads = configuration.getThreads();
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    public int size() {
+        return environments.length;
+    }
+
+    public CatanEnvironment get(int index) {
+        return environments[index];
+    }
+
+    /**
+     * Restarts every game from seeds derived from seed.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        this.nextGame = environments.length;
+        run(i -> environments[i].reset(BatchSimulator.gameSeed(seed, i)));
+        for (int i = 0; i < environments.length; i++) {
+            replaceIfDone(i);
+        }
+    }
+
+    /**
+     * Plays moves[i] in game i and writes its reward and done flag to
+     * rewards[i] and dones[i].
+     */
+    public void step(int[] moves, float[] rewards, boolean[] dones) {
+        run(i -> {
+            CatanEnvironment.Step step = environments[i].step(moves[i]);
+            rewards[i] = step.reward();
+            dones[i] = step.done();
+        });
+        // Replacement seeds are handed out afterwards so they do not depend on scheduling
+        for (int i = 0; i < environments.length; i++) {
+            replaceIfDone(i);
+        }
+    }
+
+    /**
+     * Resets game index with fresh seeds until it has a decision to make; a
+     * game can end before player 1 is ever able to afford a build.
+     */
+    private void replaceIfDone(int index) {
+        while (environments[index].isDone()) {
+            environments[index].reset(BatchSimulator.gameSeed(seed, nextGame++));
+        }
+    }
+
+    /**
+     * Writes game index's legal moves into buffer; see CatanEnvironment.legalMoves.
+     */
+    public int legalMoves(int index, int[] buffer) {
+        return environments[index].legalMoves(buffer);
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void run(IntConsumer action) {
+        Range range = new Range(action, 0, environments.length);
+        if (pool == null) {
+            range.compute();
+        } else {
+            pool.invoke(range);
+        }
+    }
+
+    /**
+     * Applies action to games [from, to), splitting in half until a range is
+     * at most GRAIN games.
+     */
+    private static final class Range extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntConsumer action;
+        private final int from;
+        private final int to;
+
+        Range(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                Range left = new Range(action, from, mid);
+                left.fork();
+                new Range(action, mid, to).compute();
+                left.join();
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+        }
+    }
+}
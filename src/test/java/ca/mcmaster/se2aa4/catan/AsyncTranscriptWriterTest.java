@@ -0,0 +1,73 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the background transcript writer produces exactly the console
+ * log, in order, plain or gzipped, including when the ring wraps.
+ */
+class AsyncTranscriptWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTranscript_matchesConsoleLog() throws IOException {
+        Path file = tempDir.resolve("game.log");
+        try (AsyncTranscriptWriter writer = AsyncTranscriptWriter.open(file.toString())) {
+            CatanGame game = new CatanGame(21);
+            game.setEventSink(writer);
+            game.play();
+        }
+        assertEquals(consoleLog(21), Files.readString(file));
+    }
+
+    @Test
+    void testTranscript_gzipWhenPathEndsInGz() throws IOException {
+        Path file = tempDir.resolve("game.log.gz");
+        try (AsyncTranscriptWriter writer = AsyncTranscriptWriter.open(file.toString())) {
+            CatanGame game = new CatanGame(22);
+            game.setEventSink(writer);
+            game.play();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(consoleLog(22), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testTranscript_keepsOrderPastRingCapacity() throws IOException {
+        Path file = tempDir.resolve("many.log");
+        int count = 100_000;
+        try (AsyncTranscriptWriter writer = new AsyncTranscriptWriter(file, false)) {
+            for (int i = 0; i < count; i++) {
+                writer.accept(new GameEvent.SettlementBuilt(i, 1, 0));
+            }
+        }
+        String[] lines = Files.readString(file).split(System.lineSeparator());
+        assertEquals(count, lines.length);
+        for (int i = 0; i < count; i += 997) {
+            assertEquals(i + " / P1: Built settlement at node 0", lines[i]);
+        }
+    }
+
+    private String consoleLog(long seed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CatanGame game = new CatanGame(seed);
+        game.setOutput(new PrintStream(bytes));
+        game.play();
+        return bytes.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the headless batch runner: configuration keys, reproducibility
+ * under a fixed seed, and the aggregate summary.
+ */
+class BatchSimulatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConfiguration_readsBatchKeys() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "games=25\nseed=-7\nthreads=3\n");
+        assertEquals(25, configuration.getGames());
+        assertEquals(3, configuration.getThreads());
+        assertTrue(configuration.isSeeded());
+        assertEquals(-7, configuration.getSeed());
+    }
+
+    @Test
+    void testRun_countsEveryGame() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "games=20\nseed=1\nturns=30\n");
+        BatchSummary summary = new BatchSimulator(configuration).run();
+        assertEquals(20, summary.getGames());
+        int total = summary.getUnfinished();
+        for (int id = 1; id <= 4; id++) {
+            total += summary.getWins(id);
+        }
+        assertEquals(20, total, "Every game ends in a win or at the round limit");
+        assertTrue(summary.getRoundsPercentile(99) <= 30);
+    }
+
+    @Test
+    void testRun_sameSeedSameResults() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "games=10\nseed=42\n");
+        BatchSummary first = new BatchSimulator(configuration).run();
+        BatchSummary second = new BatchSimulator(configuration).run();
+        for (int id = 1; id <= 4; id++) {
+            assertEquals(first.getWins(id), second.getWins(id));
+        }
+        assertEquals(first.getMeanRounds(), second.getMeanRounds());
+    }
+
+    @Test
+    void testSummary_percentiles() {
+        BatchSummary summary = new BatchSummary();
+        for (int rounds = 1; rounds <= 100; rounds++) {
+            summary.record(GameOutcome.ROUND_LIMIT, null, rounds);
+        }
+        assertEquals(50, summary.getRoundsPercentile(50));
+        assertEquals(90, summary.getRoundsPercentile(90));
+        assertEquals(100, summary.getRoundsPercentile(100));
+        assertEquals(50.5, summary.getMeanRounds(), 1e-9);
+    }
+
+    @Test
+    void testRun_parallelMatchesSequential() throws IOException {
+        Configuration oneThread = TestConfigurations.load(tempDir, "games=40\nseed=9\nthreads=1\n");
+        Configuration fourThreads = TestConfigurations.load(tempDir, "games=40\nseed=9\nthreads=4\n");
+        BatchSummary sequential = new BatchSimulator(oneThread).run();
+        BatchSummary parallel = new BatchSimulator(fourThreads).run();
+        assertEquals(sequential.getGames(), parallel.getGames());
+        for (int id = 1; id <= 4; id++) {
+            assertEquals(sequential.getWins(id), parallel.getWins(id),
+                    "Each game is seeded by its index, so scheduling must not change results");
+        }
+        assertEquals(sequential.getMeanRounds(), parallel.getMeanRounds(), 1e-9);
+        assertEquals(sequential.getRoundsPercentile(90), parallel.getRoundsPercentile(90));
+    }
+
+    @Test
+    void testDiceTape_readersReplayFromStart() {
+        DiceTape tape = DiceTape.record(new GameRandom(3), 10);
+        DiceSource first = tape.reader();
+        DiceSource second = tape.reader();
+        for (int i = 0; i < 10; i++) {
+            int roll = first.roll();
+            assertTrue(roll >= 2 && roll <= 12);
+            assertEquals(tape.rollAt(i), roll);
+            assertEquals(roll, second.roll(), "Readers are independent of each other");
+        }
+        assertEquals(tape.rollAt(0), first.roll(), "A reader wraps around at the end");
+    }
+
+    @Test
+    void testCommonRandomNumbers_pairRollsTheSameDice() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "crn=true\nturns=20\n");
+        assertTrue(configuration.isCommonRandomNumbers());
+        CatanGame game = BatchSimulator.newGame(configuration, 11, 0);
+        CatanGame mirror = BatchSimulator.newGame(configuration, 11, 1);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(game.rollDice(), mirror.rollDice());
+        }
+        assertNotEquals(rollsOf(BatchSimulator.newGame(configuration, 11, 2)), rollsOf(BatchSimulator.newGame(configuration, 11, 0)),
+                "The next pair gets its own tape");
+    }
+
+    private String rollsOf(CatanGame game) {
+        StringBuilder rolls = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            rolls.append(game.rollDice()).append(' ');
+        }
+        return rolls.toString();
+    }
+}
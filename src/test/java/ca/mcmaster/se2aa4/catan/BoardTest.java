@@ -2,6 +2,7 @@ package ca.mcmaster.se2aa4.catan;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -85,4 +86,289 @@ class BoardTest {
                     "Tile " + tile.getId() + " must have exactly 6 adjacent nodes");
         }
     }
+
+    @Test
+    void testAvailableSettlementNodes_followRoadAndDistanceRule() {
+        // a road 0-1 makes both endpoints candidates until one of them is settled
+        Player player = new AgentPlayer(1);
+        Edge road = board.getEdges().get(0);
+        road.setRoad(new Road(player, road));
+
+        List<Node> candidates = board.getAvailableSettlementNodes(player);
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.containsAll(road.getEndpoints()),
+                "Both endpoints of an isolated road should be settlement candidates");
+
+        road.getEndpoints().get(0).setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        assertTrue(board.getAvailableSettlementNodes(player).isEmpty(),
+                "Settling one endpoint blocks the other by the distance rule");
+    }
+
+    @Test
+    void testAvailableRoadEdges_extendFromSettlement() {
+        Player player = new AgentPlayer(1);
+        Node node = board.getNodes().get(0);
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+
+        assertEquals(node.getAdjacentEdges().size(), board.getAvailableRoadEdges(player).size(),
+                "Every edge touching the settlement should be available for a road");
+        assertTrue(board.getAvailableRoadEdges(new AgentPlayer(2)).isEmpty(),
+                "A player with no pieces on the board has nowhere to build a road");
+    }
+
+    @Test
+    void testUpgradeableNodes_dropCitiesAfterUpgrade() {
+        Player player = new AgentPlayer(1);
+        Node node = board.getNodes().get(10);
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        assertEquals(List.of(node), board.getUpgradeableNodes(player));
+
+        node.upgradeToCity();
+        assertTrue(board.getUpgradeableNodes(player).isEmpty(),
+                "A city cannot be upgraded again");
+    }
+
+    @Test
+    void testGetEdge_findsEdgeInEitherDirection() {
+        // nodes 0 and 1 are neighbours on the centre tile
+        Edge edge = board.getEdge(0, 1);
+        assertNotNull(edge, "Nodes 0 and 1 should be joined by an edge");
+        assertSame(edge, board.getEdge(1, 0), "Lookup should not depend on node order");
+        assertTrue(edge.getEndpoints().contains(board.getNodes().get(0)));
+        assertTrue(edge.getEndpoints().contains(board.getNodes().get(1)));
+    }
+
+    @Test
+    void testGetEdge_nonAdjacentOrOffBoardReturnsNull() {
+        assertNull(board.getEdge(0, 30), "Nodes 0 and 30 are not adjacent");
+        assertNull(board.getEdge(-1, 0), "Negative node ids are off the board");
+        assertNull(board.getEdge(0, 54), "Node ids past 53 are off the board");
+    }
+
+    @Test
+    void testGetEdge_coversEveryEdge() {
+        for (Edge edge : board.getEdges()) {
+            List<Node> endpoints = edge.getEndpoints();
+            assertSame(edge, board.getEdge(endpoints.get(0).getId(), endpoints.get(1).getId()));
+        }
+    }
+
+    @Test
+    void testProduction_tracksBuildingsAndRobber() {
+        // node 1 touches tile 1 (WHEAT, token 11)
+        Player player = new AgentPlayer(2);
+        Node node = board.getNodes().get(1);
+        assertEquals(0, board.getProduction(11, null).length,
+                "An empty board produces nothing");
+
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        int[] production = board.getProduction(11, null);
+        assertEquals(1, production.length);
+        assertSame(player, board.getSeatOwner(ProductionTable.seat(production[0])));
+        assertEquals(ResourceType.WHEAT.ordinal(), ProductionTable.resource(production[0]));
+        assertEquals(1, ProductionTable.amount(production[0]));
+
+        node.upgradeToCity();
+        assertEquals(2, ProductionTable.amount(board.getProduction(11, null)[0]),
+                "A city doubles the production entry");
+
+        Tile wheat = board.getTiles().get(1);
+        assertEquals(0, board.getProduction(11, wheat).length,
+                "The robber's tile produces nothing");
+        assertEquals(1, board.getProduction(11, null).length,
+                "Production resumes once the robber leaves");
+    }
+
+    @Test
+    void testAvailableSettlementNodes_isReadOnlyAndTracksOpponents() {
+        Player player = new AgentPlayer(1);
+        Player opponent = new AgentPlayer(2);
+        Edge road = board.getEdge(0, 1);
+        road.setRoad(new Road(player, road));
+
+        List<Node> candidates = board.getAvailableSettlementNodes(player);
+        assertThrows(UnsupportedOperationException.class, () -> candidates.clear(),
+                "Callers must not be able to edit the board's candidate set");
+
+        board.getNodes().get(2).setBuilding(new Building(BuildingType.SETTLEMENT, opponent));
+        assertEquals(List.of(board.getNodes().get(0)), board.getAvailableSettlementNodes(player),
+                "Node 1 neighbours the opponent's settlement at node 2; only node 0 stays legal");
+
+        board.getNodes().get(2).setBuilding(null);
+        assertEquals(2, board.getAvailableSettlementNodes(player).size(),
+                "Removing the settlement frees node 1 again");
+    }
+
+    @Test
+    void testAvailableRoadEdges_opponentSettlementCutsNetwork() {
+        // road 0-1 for player 1; an opponent settles on node 1
+        Player player = new AgentPlayer(1);
+        Player opponent = new AgentPlayer(2);
+        Edge road = board.getEdge(0, 1);
+        road.setRoad(new Road(player, road));
+        Edge beyond = board.getEdge(1, 2);
+        assertTrue(board.getAvailableRoadEdges(player).contains(beyond),
+                "The road end at node 1 should offer the edge 1-2");
+
+        board.getNodes().get(1).setBuilding(new Building(BuildingType.SETTLEMENT, opponent));
+        List<Edge> available = board.getAvailableRoadEdges(player);
+        assertFalse(available.contains(beyond),
+                "An opponent settlement at node 1 cuts the road; 1-2 is no longer reachable");
+        assertTrue(available.contains(board.getEdge(0, 5)),
+                "The other end of the road at node 0 is unaffected");
+        assertTrue(board.getAvailableRoadEdges(opponent).contains(beyond),
+                "The opponent can build from its own settlement");
+    }
+
+    // Longest road: node ring of the centre tile is 5-0-1-2-3-4-5
+
+    private void buildRoads(Player player, int... nodeIds) {
+        for (int i = 0; i + 1 < nodeIds.length; i++) {
+            Edge edge = board.getEdge(nodeIds[i], nodeIds[i + 1]);
+            edge.setRoad(new Road(player, edge));
+        }
+    }
+
+    @Test
+    void testLongestRoad_fullRingCountsEveryRoad() {
+        Player player = new AgentPlayer(1);
+        buildRoads(player, 5, 0, 1, 2, 3, 4, 5);
+        assertEquals(6, board.calculateLongestRoad(player),
+                "A closed loop of 6 roads is a road of length 6");
+    }
+
+    @Test
+    void testLongestRoad_branchDoesNotCountTwice() {
+        // three roads meeting at node 1: any single road through it uses only two
+        Player player = new AgentPlayer(1);
+        buildRoads(player, 0, 1, 2);
+        buildRoads(player, 1, 6);
+        assertEquals(2, board.calculateLongestRoad(player),
+                "A fork of three roads is only 2 long");
+    }
+
+    @Test
+    void testLongestRoad_opponentBuildingBreaksRoad() {
+        Player player = new AgentPlayer(1);
+        buildRoads(player, 0, 1, 2, 3, 4);
+        assertEquals(4, board.calculateLongestRoad(player));
+
+        board.getNodes().get(2).setBuilding(new Building(BuildingType.SETTLEMENT, new AgentPlayer(2)));
+        assertEquals(2, board.calculateLongestRoad(player),
+                "An opponent settlement at node 2 splits the road into 2 + 2");
+
+        board.getNodes().get(2).setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        assertEquals(4, board.calculateLongestRoad(player),
+                "The player's own settlement does not break the road");
+    }
+
+    @Test
+    void testTopology_sharedButOccupancyIsPerBoard() {
+        Board other = new Board();
+        other.initialize();
+        assertSame(board.getTopology(), other.getTopology(),
+                "Every board over the standard map should share one topology");
+
+        board.getNodes().get(0).setBuilding(new Building(BuildingType.SETTLEMENT, new AgentPlayer(1)));
+        assertFalse(other.getNodes().get(0).isOccupied(),
+                "Building on one board must not leak into another");
+        assertEquals(board.getAvailableSetupNodes().size() + 4, other.getAvailableSetupNodes().size(),
+                "Node 0 and its three neighbours are blocked only on the first board");
+    }
+
+    @Test
+    void testTopology_flatAdjacencyMatchesObjects() {
+        BoardTopology topology = board.getTopology();
+        for (Node node : board.getNodes()) {
+            int n = node.getId();
+            assertEquals(node.getAdjacentNodes().size(), topology.neighbourCount(n));
+            assertEquals(node.getAdjacentTiles().size(), topology.adjacentTileCount(n));
+            for (int i = 0; i < topology.neighbourCount(n); i++) {
+                assertEquals(node.getAdjacentNodes().get(i).getId(), topology.neighbour(n, i));
+            }
+        }
+        for (Edge edge : board.getEdges()) {
+            int e = edge.getId();
+            assertEquals(edge.getEndpoints().get(0).getId(), topology.endpointA(e));
+            assertEquals(edge.getEndpoints().get(1).getId(), topology.endpointB(e));
+        }
+    }
+
+    @Test
+    void testSeatArrays_trackOwnership() {
+        Player player = new AgentPlayer(2);
+        Node node = board.getNodes().get(7);
+        assertEquals(-1, board.getNodeSeat(7));
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        assertEquals(1, board.getNodeSeat(7));
+        assertFalse(board.isCity(7));
+        node.upgradeToCity();
+        assertTrue(board.isCity(7));
+
+        Edge edge = node.getAdjacentEdges().get(0);
+        edge.setRoad(new Road(player, edge));
+        assertEquals(1, board.getEdgeSeat(edge.getId()));
+    }
+
+    @Test
+    void testDistanceRule_maskFollowsPlacementAndRemoval() {
+        Node node = board.getNodes().get(0);
+        Node neighbour = node.getAdjacentNodes().get(0);
+        neighbour.setBuilding(new Building(BuildingType.SETTLEMENT, new AgentPlayer(1)));
+        assertFalse(node.satisfiesDistanceRule());
+        assertFalse(board.getAvailableSetupNodes().contains(node));
+
+        neighbour.setBuilding(null);
+        assertTrue(node.satisfiesDistanceRule(), "Removing the building should unblock its neighbours");
+        assertTrue(board.getAvailableSetupNodes().contains(node));
+    }
+
+    @Test
+    void testPointChecks_agreeWithLegalLists() {
+        Player player = new AgentPlayer(1);
+        buildRoads(player, 0, 1, 2, 3);
+        board.getNodes().get(0).setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        for (Node node : board.getNodes()) {
+            assertEquals(board.getAvailableSettlementNodes(player).contains(node),
+                    board.canPlaceSettlement(player, node.getId()));
+            assertEquals(board.getUpgradeableNodes(player).contains(node),
+                    board.canUpgrade(player, node.getId()));
+        }
+        for (Edge edge : board.getEdges()) {
+            assertEquals(board.getAvailableRoadEdges(player).contains(edge),
+                    board.canPlaceRoad(player, edge.getId()));
+        }
+        assertFalse(board.canPlaceSettlement(player, -1));
+        assertFalse(board.canPlaceRoad(player, board.getEdges().size()));
+    }
+
+    @Test
+    void testEpoch_andListenerSeeEveryChange() {
+        List<String> changes = new ArrayList<>();
+        board.addListener(new BoardListener() {
+            @Override
+            public void nodeChanged(int node, int previousSeat, int seat) {
+                changes.add("node " + node + ": " + previousSeat + " -> " + seat);
+            }
+
+            @Override
+            public void edgeChanged(int edge, int previousSeat, int seat) {
+                changes.add("edge " + edge + ": " + previousSeat + " -> " + seat);
+            }
+        });
+        Player player = new AgentPlayer(2);
+        Player other = new AgentPlayer(3);
+        long start = board.getEpoch();
+
+        Node node = board.getNodes().get(5);
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        Edge edge = node.getAdjacentEdges().get(0);
+        edge.setRoad(new Road(player, edge));
+        assertEquals(start + 2, board.getEpoch());
+        assertEquals(board.getEpoch(), board.getEpoch(player));
+        assertEquals(start, board.getEpoch(other), "Untouched players keep their epoch");
+
+        node.setBuilding(null);
+        assertEquals(List.of("node 5: -1 -> 1", "edge " + edge.getId() + ": -1 -> 1", "node 5: 1 -> -1"), changes);
+    }
 }
@@ -0,0 +1,104 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests turn-by-turn play: the stepped loop matches play(), steps are
+ * reproducible, and a vector of games does not depend on the thread count.
+ */
+class CatanEnvironmentTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAdvanceWithoutDecider_matchesPlay() {
+        for (long seed = 0; seed < 20; seed++) {
+            CatanGame played = new CatanGame(seed);
+            played.setEventSink(GameEventSink.NONE);
+            played.play();
+
+            CatanGame stepped = new CatanGame(seed);
+            stepped.setEventSink(GameEventSink.NONE);
+            stepped.start();
+            assertFalse(stepped.advanceTo(null), "With no decider the game runs to the end");
+
+            assertEquals(played.getOutcome(), stepped.getOutcome());
+            assertEquals(played.getCurrentRound(), stepped.getCurrentRound());
+            assertEquals(played.getWinner() == null ? 0 : played.getWinner().getId(),
+                    stepped.getWinner() == null ? 0 : stepped.getWinner().getId());
+        }
+    }
+
+    @Test
+    void testLegalMoves_endTurnFirstAndBuildsOffered() {
+        CatanEnvironment env = new CatanEnvironment(new Configuration());
+        env.reset(3);
+        int[] moves = env.legalMoves();
+        assertFalse(env.isDone());
+        assertEquals(Move.END_TURN, moves[0]);
+        assertTrue(moves.length > 1, "Turns with nothing affordable are passed automatically");
+        assertThrows(IllegalArgumentException.class, () -> env.step(Move.city(0) == moves[1] ? Move.road(0) : Move.city(0)));
+    }
+
+    @Test
+    void testStep_sameSeedSameGame() {
+        float[] results = new float[2];
+        int[] rounds = new int[2];
+        for (int run = 0; run < 2; run++) {
+            CatanEnvironment env = new CatanEnvironment(new Configuration());
+            GameRandom chooser = new GameRandom(77);
+            env.reset(11);
+            CatanEnvironment.Step step = null;
+            while (!env.isDone()) {
+                int[] moves = env.legalMoves();
+                step = env.step(moves[chooser.nextInt(moves.length)]);
+            }
+            assertTrue(step.done());
+            assertEquals(0, env.legalMoves().length);
+            results[run] = step.reward();
+            rounds[run] = env.getGame().getCurrentRound();
+        }
+        assertEquals(results[0], results[1]);
+        assertEquals(rounds[0], rounds[1]);
+    }
+
+    @Test
+    void testVector_independentOfThreadCount() throws IOException {
+        GameSnapshot[][] finals = new GameSnapshot[2][];
+        float[] totals = new float[2];
+        String[] configs = { "threads=1\n", "threads=4\n" };
+        for (int run = 0; run < 2; run++) {
+            Configuration configuration = TestConfigurations.load(tempDir, configs[run]);
+            try (VectorEnvironment vector = new VectorEnvironment(24, configuration)) {
+                vector.reset(5);
+                int[] buffer = new int[vector.get(0).maxMoves()];
+                int[] moves = new int[vector.size()];
+                float[] rewards = new float[vector.size()];
+                boolean[] dones = new boolean[vector.size()];
+                for (int t = 0; t < 300; t++) {
+                    for (int i = 0; i < vector.size(); i++) {
+                        int count = vector.legalMoves(i, buffer);
+                        moves[i] = buffer[(i + t) % count];
+                    }
+                    vector.step(moves, rewards, dones);
+                    for (float reward : rewards) {
+                        totals[run] += reward;
+                    }
+                }
+                finals[run] = new GameSnapshot[vector.size()];
+                for (int i = 0; i < vector.size(); i++) {
+                    finals[run][i] = vector.get(i).getGame().snapshot();
+                }
+            }
+        }
+        assertEquals(totals[0], totals[1]);
+        assertArrayEquals(finals[0], finals[1]);
+    }
+}
@@ -2,6 +2,12 @@ package ca.mcmaster.se2aa4.catan;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -130,4 +136,184 @@ class CatanGameTest {
         assertTrue(player.getTotalResourceCards() >= before + 2,
                 "A city should receive at least 2 resources for each adjacent tile with matching token");
     }
+
+    // victory point ledger
+
+    @Test
+    void testVictoryPoints_followSettlementsAndCities() {
+        Player player = findGamePlayer();
+        for (Node n : board.getNodes()) {
+            if (n.isOccupied()) n.setBuilding(null);
+        }
+        assertEquals(0, game.getVictoryPoints(player));
+
+        Node node = board.getNodes().get(0);
+        node.setBuilding(new Building(BuildingType.SETTLEMENT, player));
+        assertEquals(1, game.getVictoryPoints(player), "A settlement is worth 1 VP");
+
+        node.upgradeToCity();
+        assertEquals(2, game.getVictoryPoints(player), "Upgrading to a city adds 1 VP");
+
+        node.setBuilding(null);
+        assertEquals(0, game.getVictoryPoints(player), "Removing the city takes its points away");
+    }
+
+    @Test
+    void testEvents_reportTypedActions() {
+        List<GameEvent> events = new ArrayList<>();
+        CatanGame seeded = new CatanGame(3);
+        seeded.setEventSink(events::add);
+        seeded.play();
+        assertEquals(8, events.stream().filter(e -> e instanceof GameEvent.SettlementPlaced).count(),
+                "Two setup settlements per player");
+        assertInstanceOf(GameEvent.GameOver.class, events.get(events.size() - 1));
+    }
+
+    @Test
+    void testConsoleSink_keepsLogFormat() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleEventSink sink = new ConsoleEventSink(new PrintStream(bytes));
+        sink.accept(new GameEvent.RoadBuilt(4, 2, 10, 11));
+        sink.accept(new GameEvent.ResourcesProduced(4, 3, ResourceType.ORE, 2));
+        sink.accept(new GameEvent.Stolen(5, 1, 4, ResourceType.SHEEP));
+        sink.accept(new GameEvent.ScoresReported(5, new int[]{3, 2, 4, 2}));
+        String nl = System.lineSeparator();
+        assertEquals("4 / P2: Built road between nodes 10 and 11" + nl
+                + "4 / P3: Received 2 ORE" + nl
+                + "5 / P1: Stole 1 SHEEP from P4" + nl
+                + "5 / VP: P1=3 P2=2 P3=4 P4=2" + nl, bytes.toString());
+    }
+
+    @Test
+    void testReset_replaysLikeAFreshGame() {
+        ByteArrayOutputStream fresh = new ByteArrayOutputStream();
+        CatanGame expected = new CatanGame(8);
+        expected.setOutput(new PrintStream(fresh));
+        expected.play();
+
+        ByteArrayOutputStream reused = new ByteArrayOutputStream();
+        CatanGame recycled = new CatanGame(99);
+        recycled.setEventSink(GameEventSink.NONE);
+        recycled.play();
+        recycled.reset(8);
+        recycled.setOutput(new PrintStream(reused));
+        recycled.play();
+
+        assertEquals(fresh.toString(), reused.toString());
+        assertEquals(expected.getCurrentRound(), recycled.getCurrentRound());
+    }
+
+    @Test
+    void testPooledPieces_reusedAcrossGames() {
+        Player player = new AgentPlayer(1);
+        Node node = board.getNodes().get(40);
+        Building first = player.settlementFor(node);
+        first.setType(BuildingType.CITY);
+        Building again = player.settlementFor(node);
+        assertSame(first, again);
+        assertEquals(BuildingType.SETTLEMENT, again.getType(), "A reused piece starts as a settlement");
+        Edge edge = board.getEdges().get(3);
+        assertSame(player.roadFor(edge), player.roadFor(edge));
+    }
+
+    @Test
+    void testStalemate_piecesExhausted() {
+        assertFalse(game.isStalemate(), "Right after setup everyone can still reach 10 VP");
+        for (Node n : board.getNodes()) {
+            if (n.isOccupied()) {
+                Player player = n.getBuilding().getOwner();
+                player.remainingSettlements = 0;
+                player.remainingCities = 0;
+                player.remainingRoads = 0;
+            }
+        }
+        // Pieces are only counted when the board changes, so place one more road
+        Player player = findGamePlayer();
+        Edge edge = board.getAvailableRoadEdges(player).get(0);
+        edge.setRoad(new Road(player, edge));
+        assertTrue(game.getMaxReachableVictoryPoints(player) < 10);
+        assertTrue(game.isStalemate(), "Nobody can place anything, so nobody can reach 10 VP");
+        assertTrue(game.isStalemate(), "The verdict is kept until the board changes");
+    }
+
+    @Test
+    void testStalemate_reachableSpotsBounded() {
+        Player player = findGamePlayer();
+        assertEquals(board.getAvailableSettlementNodes(player).size(),
+                board.countReachableSettlementSpots(player, 0),
+                "With no roads left, only the spots already on the network count");
+        assertTrue(board.countReachableSettlementSpots(player, 15) >= board.countReachableSettlementSpots(player, 2));
+    }
+
+    @Test
+    void testApplyUndo_restoresState() {
+        Player player = findGamePlayer();
+        for (ResourceType type : ResourceType.values()) {
+            player.addResource(type, 5);
+            game.getBank().distributeResource(type, 5);
+        }
+        int city = -1;
+        int spot = -1;
+        for (Node n : board.getNodes()) {
+            if (city < 0 && n.isOccupied() && n.getBuilding().getOwner() == player) city = n.getId();
+            if (spot < 0 && !n.isOccupied() && board.satisfiesDistanceRule(n.getId())) spot = n.getId();
+        }
+        int road = -1;
+        for (Edge e : board.getEdges()) {
+            if (e.getRoad() == null) {
+                road = e.getId();
+                break;
+            }
+        }
+        GameSnapshot before = game.snapshot();
+        int[] moves = { Move.city(city), Move.settlement(spot), Move.road(road) };
+        for (int move : moves) {
+            game.applyMove(player, move);
+        }
+        assertTrue(board.isCity(city));
+        assertNotEquals(before, game.snapshot());
+        for (int i = moves.length - 1; i >= 0; i--) {
+            game.undoMove(player, moves[i]);
+        }
+        assertEquals(before, game.snapshot(), "Undo in reverse order leaves nothing behind");
+        assertFalse(board.isCity(city));
+    }
+
+    @Test
+    void testSnapshot_restoreReplaysRounds() {
+        CatanGame seeded = new CatanGame(21);
+        seeded.getBoard().initialize();
+        seeded.setEventSink(GameEventSink.NONE);
+        seeded.setupPhase();
+        GameSnapshot start = seeded.snapshot();
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        seeded.setOutput(new PrintStream(first));
+        for (int i = 0; i < 5; i++) seeded.executeRound();
+        GameSnapshot end = seeded.snapshot();
+
+        seeded.restore(start);
+        assertEquals(start, seeded.snapshot());
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        seeded.setOutput(new PrintStream(second));
+        for (int i = 0; i < 5; i++) seeded.executeRound();
+
+        assertEquals(first.toString(), second.toString());
+        assertEquals(end, seeded.snapshot());
+    }
+
+    @Test
+    void testOutcome_nullUntilPlayFinishes() {
+        CatanGame seeded = new CatanGame(3);
+        List<GameOutcome> seen = new ArrayList<>();
+        seeded.setEventSink(event -> {
+            if (event instanceof GameEvent.ScoresReported) seen.add(seeded.getOutcome());
+        });
+        seeded.play();
+        assertFalse(seen.isEmpty());
+        for (GameOutcome outcome : seen) {
+            assertNull(outcome, "The outcome is only known once play() has finished");
+        }
+        assertNotNull(seeded.getOutcome());
+    }
 }
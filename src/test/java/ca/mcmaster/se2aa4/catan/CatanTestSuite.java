@@ -16,6 +16,13 @@ import org.junit.platform.suite.api.Suite;
  * - RobberTest: Robber placement + discard mechanics (R2.5)
  * - GameStateWriterTest: JSON output for visualizer (R2.2, R2.3)
  * - TurnPhaseTest: Automaton states and phase transitions
+ * - BatchSimulatorTest: Batch configuration, seeded reproducibility, summary statistics
+ * - GameRandomTest: Seeded/split random streams and whole-game reproducibility
+ * - AsyncTranscriptWriterTest: Background transcript output (plain, gzip, ordering)
+ * - MoveGeneratorTest: Int move list vs. the board's action lists, incremental refresh
+ * - CatanEnvironmentTest: Turn-by-turn stepping, reproducibility, vectorized games
+ * - ObservationEncoderTest: Binary observation layout, direct and mapped buffers
+ * - MctsPlayerTest: Search budgets, root-parallel statistics, reproducibility
  */
 @Suite
 @SelectClasses({
@@ -28,7 +35,14 @@ import org.junit.platform.suite.api.Suite;
         CommandParserTest.class,
         RobberTest.class,
         GameStateWriterTest.class,
-        TurnPhaseTest.class
+        TurnPhaseTest.class,
+        BatchSimulatorTest.class,
+        GameRandomTest.class,
+        AsyncTranscriptWriterTest.class,
+        MoveGeneratorTest.class,
+        CatanEnvironmentTest.class,
+        ObservationEncoderTest.class,
+        MctsPlayerTest.class
 })
 public class CatanTestSuite {
     // class intentionally left empty.
@@ -0,0 +1,62 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the seeded game generator and that a seed fully determines a game.
+ */
+class GameRandomTest {
+
+    @Test
+    void testSameSeed_sameSequence() {
+        GameRandom a = new GameRandom(123);
+        GameRandom b = new GameRandom(123);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+    }
+
+    @Test
+    void testSplit_streamIgnoresParentUse() {
+        GameRandom parent = new GameRandom(5);
+        GameRandom first = parent.split();
+        GameRandom again = new GameRandom(5).split();
+        parent.nextLong();
+        parent.nextLong();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(again.nextInt(6), first.nextInt(6),
+                    "A split stream depends only on the parent's state when it was split");
+        }
+    }
+
+    @Test
+    void testNextInt_staysInBound() {
+        GameRandom random = new GameRandom(0);
+        int[] counts = new int[6];
+        for (int i = 0; i < 6000; i++) {
+            counts[random.nextInt(6)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800 && count < 1200, "Roughly uniform over the bound");
+        }
+    }
+
+    @Test
+    void testSeededGame_isReproducible() {
+        assertEquals(playLog(77), playLog(77));
+        assertNotEquals(playLog(77), playLog(78));
+    }
+
+    private String playLog(long seed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CatanGame game = new CatanGame(seed);
+        game.setOutput(new PrintStream(bytes));
+        game.play();
+        return bytes.toString();
+    }
+}
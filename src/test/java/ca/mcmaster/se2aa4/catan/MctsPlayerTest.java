@@ -0,0 +1,86 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the MCTS player: configuration, budgets, merged root-parallel
+ * statistics and reproducibility of a playout-budgeted search.
+ */
+class MctsPlayerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MctsPlayer play(CatanGame game) {
+        game.play();
+        Player player = game.getPlayer(game.getMctsPlayerId());
+        assertInstanceOf(MctsPlayer.class, player);
+        return (MctsPlayer) player;
+    }
+
+    @Test
+    void testConfiguration_readsSearchKeys() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "mcts=3\nplayouts=50\nthinkms=20\nsearchthreads=2\n");
+        assertEquals(3, configuration.getMctsPlayerId());
+        assertEquals(50, configuration.getPlayouts());
+        assertEquals(20, configuration.getThinkMillis());
+        assertEquals(2, configuration.getSearchThreads());
+    }
+
+    @Test
+    void testPlayoutBudget_spentOnEveryDecision() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "mcts=2\nplayouts=20\nturns=20\nsearchthreads=1\n");
+        CatanGame game = new CatanGame(6, configuration);
+        game.setEventSink(GameEventSink.NONE);
+        MctsPlayer mcts = play(game);
+        assertTrue(mcts.getPlayouts() > 0, "P2 should have had at least one choice in 20 rounds");
+        assertEquals(0, mcts.getPlayouts() % 20);
+        assertTrue(mcts.getPlayoutsPerSecond() > 0);
+    }
+
+    @Test
+    void testRootParallel_mergesEveryWorker() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "mcts=2\nplayouts=20\nturns=20\nsearchthreads=3\n");
+        CatanGame game = new CatanGame(6, configuration);
+        game.setEventSink(GameEventSink.NONE);
+        MctsPlayer mcts = play(game);
+        assertTrue(mcts.getPlayouts() > 0);
+        assertEquals(0, mcts.getPlayouts() % 20, "Workers of 7, 7 and 6 playouts: exactly the budget per decision");
+    }
+
+    @Test
+    void testSingleThreadSearch_reproducible() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "mcts=1\nplayouts=16\nturns=25\nsearchthreads=1\n");
+        String[] logs = new String[2];
+        for (int run = 0; run < 2; run++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CatanGame game = new CatanGame(12, configuration);
+            game.setOutput(new PrintStream(out));
+            play(game);
+            logs[run] = out.toString();
+        }
+        assertEquals(logs[0], logs[1]);
+    }
+
+    @Test
+    void testCommonRandomNumbers_mirrorsMctsSeat() throws IOException {
+        Configuration configuration = TestConfigurations.load(tempDir, "mcts=1\nplayouts=4\nturns=3\nsearchthreads=1\ncrn=true\n");
+        CatanGame first = BatchSimulator.newGame(configuration, 8, 0);
+        CatanGame mirrored = BatchSimulator.newGame(configuration, 8, 1);
+        first.setEventSink(GameEventSink.NONE);
+        mirrored.setEventSink(GameEventSink.NONE);
+        play(first);
+        play(mirrored);
+        assertEquals(1, first.getMctsPlayerId());
+        assertEquals(4, mirrored.getMctsPlayerId(), "The mirrored game swaps MCTS's seat like the agents'");
+        assertInstanceOf(AgentPlayer.class, mirrored.getPlayer(1));
+    }
+}
@@ -0,0 +1,82 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the int move list matches the board's legal-action lists, in
+ * the order agents draw from, as pieces are added during a turn.
+ */
+class MoveGeneratorTest {
+
+    private CatanGame game;
+    private Board board;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        game = new CatanGame(13);
+        game.setEventSink(GameEventSink.NONE);
+        board = game.getBoard();
+        board.initialize();
+        game.setupPhase();
+        player = board.getNodes().stream().filter(Node::isOccupied).findFirst().orElseThrow()
+                .getBuilding().getOwner();
+    }
+
+    private List<Integer> expectedMoves() {
+        List<Integer> expected = new ArrayList<>();
+        if (player.canBuildCity()) {
+            board.getUpgradeableNodes(player).forEach(n -> expected.add(Move.city(n.getId())));
+        }
+        if (player.canBuildSettlement()) {
+            board.getAvailableSettlementNodes(player).forEach(n -> expected.add(Move.settlement(n.getId())));
+        }
+        if (player.canBuildRoad()) {
+            board.getAvailableRoadEdges(player).forEach(e -> expected.add(Move.road(e.getId())));
+        }
+        return expected;
+    }
+
+    private List<Integer> generated(MoveGenerator generator) {
+        List<Integer> moves = new ArrayList<>();
+        for (int i = 0; i < generator.refresh(player, board); i++) {
+            moves.add(generator.get(i));
+        }
+        return moves;
+    }
+
+    @Test
+    void testEmptyHand_noMoves() {
+        for (ResourceType type : ResourceType.values()) {
+            player.removeResource(type, player.getResourceCount(type));
+        }
+        assertEquals(0, new MoveGenerator().refresh(player, board));
+    }
+
+    @Test
+    void testIncrementalRefresh_matchesBoardLists() {
+        for (ResourceType type : ResourceType.values()) {
+            player.addResource(type, 10);
+        }
+        MoveGenerator generator = new MoveGenerator();
+        for (int step = 0; step < 6; step++) {
+            List<Integer> moves = generated(generator);
+            assertEquals(expectedMoves(), moves, "Step " + step);
+            // Alternate road and settlement/city so every region changes at some point
+            int move = moves.get(step % 2 == 0 ? moves.size() - 1 : 0);
+            game.applyMove(player, move);
+        }
+    }
+
+    @Test
+    void testPlayMove_rejectsUnknownType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> player.playMove(7 << 8 | 3, board, game.getBank(), 1, GameEventSink.NONE));
+    }
+}
@@ -0,0 +1,82 @@
+package ca.mcmaster.se2aa4.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the binary observation layout against the game it encodes.
+ */
+class ObservationEncoderTest {
+
+    private CatanGame game;
+    private ObservationEncoder encoder;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        game = new CatanGame(4);
+        game.setEventSink(GameEventSink.NONE);
+        game.start();
+        game.advanceTo(game.getPlayer(2));
+        encoder = new ObservationEncoder(game);
+    }
+
+    @Test
+    void testSize_standardBoard() {
+        assertEquals(14 + 54 + 72 + 4 * 9, encoder.size());
+    }
+
+    @Test
+    void testEncode_matchesGameState() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoder.size() + 3).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(3 + encoder.size(), encoder.encode(buffer, 3));
+        assertEquals(0, buffer.position(), "Absolute writes leave the position alone");
+
+        Board board = game.getBoard();
+        assertEquals(game.getCurrentRound(), buffer.getInt(3));
+        assertEquals(2, buffer.get(3 + 4));
+        assertEquals(game.getCurrentTurnPhase().ordinal(), buffer.get(3 + 5));
+        for (Node node : board.getNodes()) {
+            int expected = node.isOccupied() ? node.getBuilding().getOwner().getId()
+                    + (node.getBuilding().getType() == BuildingType.CITY ? 4 : 0) : 0;
+            assertEquals(expected, buffer.get(3 + 14 + node.getId()));
+        }
+        for (Edge edge : board.getEdges()) {
+            int expected = edge.getRoad() != null ? edge.getRoad().getOwner().getId() : 0;
+            assertEquals(expected, buffer.get(3 + 14 + 54 + edge.getId()));
+        }
+        int p3 = 3 + 14 + 54 + 72 + 2 * 9;
+        Player player = game.getPlayer(3);
+        assertEquals(player.getResourceCount(ResourceType.ORE), buffer.get(p3 + ResourceType.ORE.ordinal()));
+        assertEquals(player.getRemainingRoads(), buffer.get(p3 + 7));
+        assertEquals(game.getVictoryPoints(player), buffer.get(p3 + 8));
+    }
+
+    @Test
+    void testMap_sharesBytesThroughFile() throws IOException {
+        Path file = tempDir.resolve("obs.bin");
+        MappedByteBuffer mapped = encoder.map(file, 2);
+        encoder.encode(mapped, encoder.size());
+        mapped.force();
+
+        byte[] onDisk = Files.readAllBytes(file);
+        ByteBuffer heap = ByteBuffer.allocate(encoder.size());
+        encoder.encode(heap, 0);
+        assertEquals(2 * encoder.size(), onDisk.length);
+        for (int i = 0; i < encoder.size(); i++) {
+            assertEquals(heap.get(i), onDisk[encoder.size() + i]);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ca.mcmaster.se2aa4.catan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Builds Configurations the way users do: by writing a config file and loading it.
+ */
+final class TestConfigurations {
+
+    private TestConfigurations() {
+    }
+
+    static Configuration load(Path dir, String contents) throws IOException {
+        Path file = Files.createTempFile(dir, "config", ".txt");
+        Files.writeString(file, contents);
+        Configuration configuration = new Configuration();
+        configuration.load(file.toString());
+        return configuration;
+    }
+}